@@ -0,0 +1,197 @@
+package com.portfolio.manager.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.AssetPageDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.exception.GlobalExceptionHandler;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.service.AssetImportService;
+import com.portfolio.manager.service.AssetService;
+import com.portfolio.manager.service.DashboardService;
+import com.portfolio.manager.service.DashboardStreamService;
+import com.portfolio.manager.service.PriceUpdateService;
+import com.portfolio.manager.service.ValuationHistory;
+
+/**
+ * HTTP throughput of {@link AssetController} and {@link DashboardController} when every service call blocks
+ * for {@code blockingMillis}, as a remote price feed or a slow database would. The controllers run in embedded
+ * Tomcat capped at 50 platform worker threads and are hit by 200 concurrent clients, once with platform threads
+ * and once with {@code spring.threads.virtual.enabled}. Virtual threads only take effect on Java 21, e.g.
+ * {@code JAVA_HOME=<jdk21> mvn -Pbenchmark,java21 test-compile exec:exec -Djmh.args=ControllerLoad}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(200)
+@State(Scope.Benchmark)
+public class ControllerLoadBenchmark {
+
+    private static final int PLATFORM_WORKER_THREADS = 50;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"50"})
+    private long blockingMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest assetPage;
+    private HttpRequest dashboard;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BlockingServices.blockingMillis = blockingMillis;
+        context = new SpringApplicationBuilder(BlockingServices.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + PLATFORM_WORKER_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.portfolio.manager=WARN")
+                .run();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        assetPage = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/assets/page?limit=10"))
+                .build();
+        dashboard = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/dashboard")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int assetPage() throws Exception {
+        return client.send(assetPage, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int dashboard() throws Exception {
+        return client.send(dashboard, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * The two controllers over stub services that sleep before answering; nothing touches a database. Not a
+     * {@code @Configuration}, so component scans of the application packages do not pick it up.
+     */
+    @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+    @Import({AssetController.class, DashboardController.class, GlobalExceptionHandler.class})
+    static class BlockingServices {
+
+        static volatile long blockingMillis;
+
+        @Bean
+        AssetService assetService() {
+            AssetService service = stub(AssetService.class);
+            AssetPageDTO page = AssetPageDTO.builder().items(List.of(asset())).build();
+            when(service.getAssetPage(any(), anyLong(), anyInt())).thenAnswer(blocking(page));
+            return service;
+        }
+
+        @Bean
+        DashboardService dashboardService() {
+            DashboardService service = stub(DashboardService.class);
+            PortfolioSummaryDTO summary = PortfolioSummaryDTO.builder()
+                    .totalValue(new BigDecimal("1700.00"))
+                    .bestPerformer(asset())
+                    .worstPerformer(asset())
+                    .allocationByType(Map.of(AssetType.STOCK, new BigDecimal("100.00")))
+                    .assetCount(1)
+                    .build();
+            when(service.getPortfolioSummary()).thenAnswer(blocking(summary));
+            return service;
+        }
+
+        @Bean
+        AssetImportService assetImportService() {
+            return stub(AssetImportService.class);
+        }
+
+        @Bean
+        ValuationHistory valuationHistory() {
+            return stub(ValuationHistory.class);
+        }
+
+        @Bean
+        DashboardStreamService dashboardStreamService() {
+            return stub(DashboardStreamService.class);
+        }
+
+        @Bean
+        PriceUpdateService priceUpdateService() {
+            return stub(PriceUpdateService.class);
+        }
+
+        // Stub-only mocks do not record invocations, so millions of calls do not accumulate in memory.
+        private static <T> T stub(Class<T> type) {
+            return mock(type, withSettings().stubOnly());
+        }
+
+        private static <T> Answer<T> blocking(T result) {
+            return invocation -> {
+                Thread.sleep(blockingMillis);
+                return result;
+            };
+        }
+
+        private static AssetDTO asset() {
+            return AssetDTO.builder()
+                    .id(1L)
+                    .portfolioId(1L)
+                    .symbol("AAPL")
+                    .name("Apple")
+                    .assetType(AssetType.STOCK)
+                    .quantity(new BigDecimal("10.0000"))
+                    .avgBuyPrice(new BigDecimal("150.00"))
+                    .currentPrice(new BigDecimal("170.00"))
+                    .currentValue(new BigDecimal("1700.00"))
+                    .investedValue(new BigDecimal("1500.00"))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.portfolio.manager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.portfolio.manager.config.CacheProperties;
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.model.Asset;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class AssetDtoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Asset> assets;
+    private List<AssetDTO> dtos;
+    private AssetService assetService;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        assets = BenchmarkData.assets(size);
+        assetService = new AssetService(InMemoryAssetRepository.of(assets), null, event -> { }, null,
+                new AssetDtoCache(new CacheProperties()), null);
+        dtos = assets.stream().map(assetService::toDto).toList();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, AssetDTO.class));
+    }
+
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (Asset asset : assets) {
+            blackhole.consume(assetService.toDto(asset));
+        }
+    }
+
+    @Benchmark
+    public void serializeJson() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+}
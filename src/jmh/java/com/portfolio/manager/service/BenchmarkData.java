@@ -0,0 +1,41 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Deterministic synthetic holdings shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final AssetType[] TYPES = AssetType.values();
+    private static final int PORTFOLIOS = 100;
+
+    private BenchmarkData() {
+    }
+
+    static List<Asset> assets(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Asset> assets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long avgBuyCents = 100 + random.nextLong(1_000_000);
+            long currentCents = Math.max(1, avgBuyCents + random.nextLong(-avgBuyCents / 2, avgBuyCents / 2 + 1));
+            assets.add(Asset.builder()
+                    .id(i + 1L)
+                    .symbol("SYM" + random.nextInt(size / 4 + 1))
+                    .name("Holding " + i)
+                    .assetType(TYPES[random.nextInt(TYPES.length)])
+                    .quantity(BigDecimal.valueOf(1 + random.nextLong(10_000_000), 4))
+                    .avgBuyPrice(BigDecimal.valueOf(avgBuyCents, 2))
+                    .currentPrice(BigDecimal.valueOf(currentCents, 2))
+                    .portfolioId(1L + random.nextInt(PORTFOLIOS))
+                    .build());
+        }
+        return assets;
+    }
+}
@@ -0,0 +1,122 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.portfolio.manager.config.CacheProperties;
+import com.portfolio.manager.config.ScenarioProperties;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.AssetTypeTotals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Asset> assets;
+    private List<AssetTypeTotals> totals;
+    private BigDecimal totalValue;
+    private DashboardService coldDashboard;
+    private DashboardService warmDashboard;
+    private HoldingsSnapshot snapshot;
+    private PortfolioReducer sequentialReducer;
+    private PortfolioReducer parallelReducer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        assets = BenchmarkData.assets(size);
+        AssetRepository repository = InMemoryAssetRepository.of(assets);
+        sequentialReducer = reducer(Integer.MAX_VALUE);
+        parallelReducer = reducer(0);
+        totals = repository.sumValueByType();
+        totalValue = totals.stream().map(AssetTypeTotals::getTotalValue).reduce(BigDecimal.ZERO, BigDecimal::add);
+        // An aggregate that was never rebuilt is unavailable, so this service takes the database path.
+        coldDashboard = new DashboardService(repository, new PortfolioAggregate(repository),
+                new PortfolioSummaryCache(new CacheProperties()), new SimpleMeterRegistry());
+        PortfolioAggregate aggregate = new PortfolioAggregate(repository);
+        aggregate.rebuild();
+        warmDashboard = new DashboardService(repository, aggregate, new PortfolioSummaryCache(new CacheProperties()),
+                new SimpleMeterRegistry());
+        snapshot = aggregate.snapshot().orElseThrow();
+    }
+
+    /**
+     * The Java side of the database summary, with the stub doing the aggregation the database would.
+     */
+    @Benchmark
+    public PortfolioSummaryDTO getPortfolioSummaryCold() {
+        return coldDashboard.getPortfolioSummary();
+    }
+
+    @Benchmark
+    public PortfolioSummaryDTO getPortfolioSummaryWarm() {
+        return warmDashboard.getPortfolioSummary();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Map<AssetType, BigDecimal> calculateAllocation() {
+        return coldDashboard.calculateAllocation(totals, totalValue);
+    }
+
+    @Benchmark
+    public long scanEntities() {
+        long total = 0;
+        for (Asset asset : assets) {
+            total += FixedPoint.value(FixedPoint.quantityUnits(asset.getQuantity()),
+                    FixedPoint.priceUnits(asset.getCurrentPrice()));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long scanSnapshot() {
+        long total = 0;
+        for (int slot = 0; slot < snapshot.size(); slot++) {
+            total += snapshot.value(slot);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public PortfolioReducer.Partial reduceSnapshotSequential() {
+        return sequentialReducer.reduce(snapshot);
+    }
+
+    @Benchmark
+    public PortfolioReducer.Partial reduceSnapshotParallel() {
+        return parallelReducer.reduce(snapshot);
+    }
+
+    private static PortfolioReducer reducer(int parallelThreshold) {
+        ScenarioProperties properties = new ScenarioProperties();
+        properties.setParallelThreshold(parallelThreshold);
+        return new PortfolioReducer(properties);
+    }
+}
@@ -0,0 +1,111 @@
+package com.portfolio.manager.service;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.AssetTypeTotals;
+
+/**
+ * {@link AssetRepository} stub over a fixed list, answering only the read methods the benchmarked
+ * code paths call.
+ */
+final class InMemoryAssetRepository {
+
+    private static final Comparator<Asset> GAIN =
+            Comparator.comparing(InMemoryAssetRepository::gain).thenComparing(Asset::getId);
+
+    private InMemoryAssetRepository() {
+    }
+
+    static AssetRepository of(List<Asset> assets) {
+        return (AssetRepository) Proxy.newProxyInstance(AssetRepository.class.getClassLoader(),
+                new Class<?>[] {AssetRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> assets;
+                    case "findByAssetType" -> assets.stream()
+                            .filter(asset -> asset.getAssetType() == (AssetType) args[0])
+                            .toList();
+                    case "findByIdGreaterThanOrderByIdAsc" -> assets.stream()
+                            .filter(asset -> asset.getId() > (Long) args[0])
+                            .limit(((Limit) args[1]).max())
+                            .toList();
+                    case "findById" -> assets.stream()
+                            .filter(asset -> asset.getId().equals(args[0]))
+                            .findFirst();
+                    case "findAllById" -> {
+                        Set<Object> ids = new HashSet<>();
+                        ((Iterable<?>) args[0]).forEach(ids::add);
+                        yield assets.stream().filter(asset -> ids.contains(asset.getId())).toList();
+                    }
+                    case "sumValueByType" -> sumValueByType(assets);
+                    case "findIdsByGainDesc" -> idsByGain(assets, GAIN.reversed(), (Limit) args[0]);
+                    case "findIdsByGainAsc" -> idsByGain(assets, GAIN, (Limit) args[0]);
+                    case "count" -> (long) assets.size();
+                    case "toString" -> "InMemoryAssetRepository[" + assets.size() + "]";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * What the database returns for the per-type aggregate: exact sums of quantity x current price.
+     */
+    private static List<AssetTypeTotals> sumValueByType(List<Asset> assets) {
+        Map<AssetType, BigDecimal> values = new EnumMap<>(AssetType.class);
+        Map<AssetType, Long> counts = new EnumMap<>(AssetType.class);
+        for (Asset asset : assets) {
+            values.merge(asset.getAssetType(), value(asset), BigDecimal::add);
+            counts.merge(asset.getAssetType(), 1L, Long::sum);
+        }
+        List<AssetTypeTotals> totals = new ArrayList<>();
+        values.forEach((type, value) -> totals.add(new Totals(type, counts.get(type), value)));
+        return totals;
+    }
+
+    private static List<Long> idsByGain(List<Asset> assets, Comparator<Asset> order, Limit limit) {
+        return assets.stream()
+                .sorted(order)
+                .limit(limit.max())
+                .map(Asset::getId)
+                .toList();
+    }
+
+    private static BigDecimal value(Asset asset) {
+        return asset.getQuantity().multiply(Objects.requireNonNullElse(asset.getCurrentPrice(), BigDecimal.ZERO));
+    }
+
+    private static BigDecimal gain(Asset asset) {
+        return value(asset).subtract(asset.getQuantity().multiply(asset.getAvgBuyPrice()));
+    }
+
+    private record Totals(AssetType assetType, Long assetCount, BigDecimal totalValue) implements AssetTypeTotals {
+
+        @Override
+        public AssetType getAssetType() {
+            return assetType;
+        }
+
+        @Override
+        public Long getAssetCount() {
+            return assetCount;
+        }
+
+        @Override
+        public BigDecimal getTotalValue() {
+            return totalValue;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.portfolio.manager.PortfolioApplication;
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.BulkImportResultDTO;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.Portfolio;
+import com.portfolio.manager.repository.PortfolioRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Bulk import of new assets through the full application against H2 in MySQL mode, with Hibernate and Hikari
+ * left at their defaults ({@code untuned}) and with the {@code production} profile. Each import interleaves
+ * asset and ledger inserts, so without ordered inserts every JDBC batch holds a single row. Besides the time,
+ * {@code statements} reports the JDBC statements prepared per import: an in-memory database hides round trips,
+ * a networked MySQL pays for each one. MySQL-only settings (server-side prepared statements, the driver
+ * statement cache, rewritten batches) need a live server and are not measured here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceProfileBenchmark {
+
+    @Param({"untuned", "production"})
+    private String settings;
+
+    @Param({"1000"})
+    private int rows;
+
+    private final AtomicInteger portfolios = new AtomicInteger();
+    private ConfigurableApplicationContext context;
+    private PortfolioRepository portfolioRepository;
+    private AssetImportService assetImportService;
+    private List<AssetDTO> requests;
+    private Statistics statistics;
+
+    // Reported as is: every import prepares the same number of statements.
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Statements {
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments, since they take precedence over application.yml and the profile files.
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN", "--logging.level.com.portfolio.manager=WARN"));
+        if (settings.equals("production")) {
+            args.add("--spring.profiles.active=production,h2");
+        } else {
+            args.addAll(List.of("--spring.profiles.active=h2",
+                    "--spring.jpa.properties.hibernate.order_inserts=false",
+                    "--spring.jpa.properties.hibernate.order_updates=false",
+                    "--spring.jpa.properties.hibernate.jdbc.batch_size=0"));
+        }
+        context = new SpringApplicationBuilder(PortfolioApplication.class).run(args.toArray(String[]::new));
+        portfolioRepository = context.getBean(PortfolioRepository.class);
+        assetImportService = context.getBean(AssetImportService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        requests = IntStream.range(0, rows)
+                .mapToObj(i -> AssetDTO.builder()
+                        .symbol("SYM" + i)
+                        .name("Asset " + i)
+                        .assetType(AssetType.values()[i % AssetType.values().length])
+                        .quantity(new BigDecimal("10.0000"))
+                        .avgBuyPrice(new BigDecimal("100.00"))
+                        .currentPrice(new BigDecimal("110.00"))
+                        .build())
+                .toList();
+    }
+
+    // Keeps the in-memory database from growing across iterations.
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM asset_transactions");
+        jdbcTemplate.update("DELETE FROM position_snapshots");
+        jdbcTemplate.update("DELETE FROM assets");
+        jdbcTemplate.update("DELETE FROM portfolios");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BulkImportResultDTO importNewAssets(Statements counter) {
+        Portfolio portfolio = portfolioRepository.save(
+                Portfolio.builder().name("Benchmark " + portfolios.incrementAndGet()).build());
+        long before = statistics.getPrepareStatementCount();
+        BulkImportResultDTO result = assetImportService.importAssets(portfolio.getId(), requests);
+        counter.statements = statistics.getPrepareStatementCount() - before;
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package com.portfolio.manager.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.portfolio.manager.config.HistoryProperties;
+import com.portfolio.manager.config.RiskProperties;
+import com.portfolio.manager.dto.RiskQueryDTO;
+import com.portfolio.manager.dto.RiskReportDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.HistoryResolution;
+
+/**
+ * Risk of a synthetic book with a year of daily closing prices per asset in a {@link TimeSeriesStore} on disk.
+ * {@code simulate} is the Monte Carlo step alone, on the per-type profit and loss; {@code assess} is the whole
+ * report, including opening and mapping every asset's price segments and applying its returns to its current
+ * value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class RiskBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"100000"})
+    private int paths;
+
+    private RiskEngine riskEngine;
+    private RiskService riskService;
+    private double[][] pnlByType;
+    private RiskQueryDTO query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        RiskProperties properties = new RiskProperties();
+        int days = properties.getLookbackDays() + 1;
+        long daySeconds = HistoryResolution.DAY.bucketSeconds();
+        long firstDay = HistoryResolution.DAY.bucketStart(Instant.now().getEpochSecond()) - (days - 1) * daySeconds;
+        List<Asset> assets = BenchmarkData.assets(size);
+        SplittableRandom random = new SplittableRandom(17);
+        Map<Long, long[]> closes = new HashMap<>();
+        TimeSeriesStore store = new TimeSeriesStore(Files.createTempDirectory("risk-benchmark"));
+        for (Asset asset : assets) {
+            long[] series = new long[days];
+            double close = 10_000 + random.nextInt(1_000_000);
+            for (int day = 0; day < days; day++) {
+                close *= 1 + 0.02 * random.nextGaussian();
+                series[day] = Math.max(1, Math.round(close));
+                store.append(ValuationHistory.priceSeries(asset.getId()), HistoryResolution.DAY,
+                        firstDay + day * daySeconds, series[day]);
+            }
+            closes.put(asset.getId(), series);
+        }
+        store.close();
+        PortfolioAggregate aggregate = new PortfolioAggregate(InMemoryAssetRepository.of(assets));
+        aggregate.rebuild();
+        riskEngine = new RiskEngine(properties);
+        riskService = new RiskService(aggregate, null, new ValuationHistory(null, new HistoryProperties(), store),
+                riskEngine, properties);
+        query = RiskQueryDTO.builder().paths(paths).seed(1L).build();
+
+        HoldingsSnapshot holdings = aggregate.snapshot().orElseThrow();
+        pnlByType = new double[PortfolioValuation.TYPES.length][days - 1];
+        for (int slot = 0; slot < holdings.size(); slot++) {
+            long[] series = closes.get(holdings.id(slot));
+            double value = holdings.value(slot) / 1e6;
+            for (int day = 0; day < days - 1; day++) {
+                pnlByType[holdings.typeOrdinal(slot)][day] += value * ((double) series[day + 1] / series[day] - 1);
+            }
+        }
+    }
+
+    @Benchmark
+    public RiskEngine.Result simulate() {
+        return riskEngine.evaluate(pnlByType, 0.99, 1, paths, 1L);
+    }
+
+    @Benchmark
+    public RiskReportDTO assess() {
+        return riskService.getRisk(query);
+    }
+}
@@ -0,0 +1,146 @@
+package com.portfolio.manager.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.portfolio.manager.config.CacheProperties;
+import com.portfolio.manager.dto.AssetDTO;
+
+/**
+ * JSON vs. CBOR vs. Smile for {@code AssetDTO} lists, with mappers built as {@code WireFormatConfig} builds them.
+ * The serialize benchmarks report their payload sizes, raw and gzipped, as secondary results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<AssetDTO> dtos;
+    private ObjectWriter json;
+    private ObjectWriter cbor;
+    private ObjectWriter smile;
+    private ObjectReader cborReader;
+    private ObjectReader jsonReader;
+    private byte[] jsonPayload;
+    private byte[] cborPayload;
+    private Size jsonSize;
+    private Size cborSize;
+    private Size smileSize;
+
+    // Reported as is: every serialization of a trial writes the same payload.
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadSize {
+        public long bytes;
+        public long gzippedBytes;
+
+        void set(Size size) {
+            bytes = size.bytes();
+            gzippedBytes = size.gzipped();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        AssetService assetService = new AssetService(InMemoryAssetRepository.of(List.of()), null, event -> { }, null,
+                new AssetDtoCache(new CacheProperties()), null);
+        dtos = BenchmarkData.assets(size).stream().map(assetService::toDto).toList();
+        json = listWriter(new JsonFactory());
+        cbor = listWriter(new CBORFactory());
+        smile = listWriter(new SmileFactory());
+        jsonReader = listReader(new JsonFactory());
+        cborReader = listReader(new CBORFactory());
+        jsonPayload = json.writeValueAsBytes(dtos);
+        cborPayload = cbor.writeValueAsBytes(dtos);
+        jsonSize = sizeOf(jsonPayload);
+        cborSize = sizeOf(cborPayload);
+        smileSize = sizeOf(smile.writeValueAsBytes(dtos));
+    }
+
+    @Benchmark
+    public void serializeJson(PayloadSize payload) throws IOException {
+        json.writeValue(OutputStream.nullOutputStream(), dtos);
+        payload.set(jsonSize);
+    }
+
+    @Benchmark
+    public void serializeCbor(PayloadSize payload) throws IOException {
+        cbor.writeValue(OutputStream.nullOutputStream(), dtos);
+        payload.set(cborSize);
+    }
+
+    @Benchmark
+    public void serializeSmile(PayloadSize payload) throws IOException {
+        smile.writeValue(OutputStream.nullOutputStream(), dtos);
+        payload.set(smileSize);
+    }
+
+    @Benchmark
+    public List<AssetDTO> deserializeJson() throws IOException {
+        return jsonReader.readValue(jsonPayload);
+    }
+
+    @Benchmark
+    public List<AssetDTO> deserializeCbor() throws IOException {
+        return cborReader.readValue(cborPayload);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json().factory(factory).build();
+    }
+
+    private static ObjectWriter listWriter(JsonFactory factory) {
+        ObjectMapper mapper = mapper(factory);
+        return mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, AssetDTO.class));
+    }
+
+    private static ObjectReader listReader(JsonFactory factory) {
+        ObjectMapper mapper = mapper(factory);
+        return mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, AssetDTO.class));
+    }
+
+    private static Size sizeOf(byte[] payload) {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(payload);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new Size(payload.length, gzipped.size());
+    }
+
+    private record Size(long bytes, long gzipped) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.portfolio.manager.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "portfolio.cache")
+@Getter
+@Setter
+public class CacheProperties {
+
+    /**
+     * Maximum number of single-asset DTOs kept by id.
+     */
+    private long maxAssets = 10_000;
+
+    /**
+     * Maximum total number of DTOs held across all cached asset lists.
+     */
+    private long maxListEntries = 100_000;
+
+    /**
+     * Maximum number of per-portfolio dashboard summaries kept.
+     */
+    private long maxPortfolioSummaries = 1_000;
+
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,36 @@
+package com.portfolio.manager.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "portfolio.dashboard")
+@Getter
+@Setter
+public class DashboardProperties {
+
+    /**
+     * Minimum time between summary pushes to stream subscribers; changes in between are coalesced.
+     */
+    private Duration pushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Lifetime of a summary stream before the client has to reconnect.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Threads writing to stream subscribers. A slow client occupies one thread while it blocks, and its
+     * updates are coalesced meanwhile.
+     */
+    private int pushThreads = 4;
+
+    /**
+     * Longest a single write to a stream subscriber may block before it is interrupted and the subscriber
+     * dropped; the client reconnects and starts again from a full summary.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,56 @@
+package com.portfolio.manager.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "portfolio.history")
+@Getter
+@Setter
+public class HistoryProperties {
+
+    /**
+     * Record a valuation sample after every price refresh.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory holding the segment files; created on first use.
+     */
+    private String directory = "data/history";
+
+    /**
+     * Keep a series per asset in addition to one per portfolio. Each asset costs a few small files per
+     * retained segment.
+     */
+    private boolean recordAssets = true;
+
+    /**
+     * How long raw samples are kept.
+     */
+    private Duration rawRetention = Duration.ofDays(2);
+
+    /**
+     * How long minute rollups are kept.
+     */
+    private Duration minuteRetention = Duration.ofDays(30);
+
+    /**
+     * How long hour rollups are kept. Day rollups are kept indefinitely.
+     */
+    private Duration hourRetention = Duration.ofDays(400);
+
+    /**
+     * Segment files kept open for appending, least recently used first out. Above the number of recorded series
+     * (portfolios plus assets), every sample is written without opening a file.
+     */
+    private int maxOpenSegments = 4096;
+
+    /**
+     * Maximum number of points a single range query may return.
+     */
+    private int maxPoints = 10_000;
+}
@@ -0,0 +1,17 @@
+package com.portfolio.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "portfolio.import")
+@Getter
+@Setter
+public class ImportProperties {
+
+    /**
+     * Rows written per transaction and per JDBC batch during bulk imports.
+     */
+    private int batchSize = 500;
+}
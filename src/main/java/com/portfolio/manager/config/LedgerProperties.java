@@ -0,0 +1,22 @@
+package com.portfolio.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "portfolio.ledger")
+@Validated
+@Getter
+@Setter
+public class LedgerProperties {
+
+    /**
+     * A position snapshot is written every this many ledger entries of an asset, bounding how many entries a
+     * replay reads.
+     */
+    @Min(1)
+    private int snapshotInterval = 100;
+}
@@ -0,0 +1,55 @@
+package com.portfolio.manager.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "portfolio.prices")
+@Getter
+@Setter
+public class PriceRefreshProperties {
+
+    /**
+     * Price source implementation to use; "simulated" is the offline default.
+     */
+    private String source = "simulated";
+
+    /**
+     * Number of asset rows read and written per JDBC batch.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Maximum number of distinct symbols requested from the price source in one call.
+     */
+    private int quoteBatchSize = 500;
+
+    /**
+     * Maximum number of quote requests in flight at once during a refresh.
+     */
+    private int fetchConcurrency = 4;
+
+    private boolean scheduleEnabled = false;
+
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    private final Simulated simulated = new Simulated();
+
+    @Getter
+    @Setter
+    public static class Simulated {
+
+        /**
+         * Optional CSV file of "symbol,price" lines used to seed the simulated feed.
+         */
+        private String seedFile;
+
+        /**
+         * Standard deviation of the relative price move applied on each fetch.
+         */
+        private double volatility = 0.01;
+    }
+}
@@ -0,0 +1,28 @@
+package com.portfolio.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "portfolio.risk")
+@Getter
+@Setter
+public class RiskProperties {
+
+    /**
+     * Days of daily returns read from the valuation history.
+     */
+    private int lookbackDays = 250;
+
+    /**
+     * Monte Carlo paths simulated when a request does not say.
+     */
+    private int paths = 100_000;
+
+    /**
+     * Paths simulated per fork-join task. Each task draws from its own split of the generator, so results for
+     * a given seed do not depend on the number of cores.
+     */
+    private int pathsPerTask = 10_000;
+}
@@ -0,0 +1,18 @@
+package com.portfolio.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "portfolio.scenarios")
+@Getter
+@Setter
+public class ScenarioProperties {
+
+    /**
+     * Holdings count from which a scenario's reduction is split across the common fork-join pool; smaller
+     * portfolios are reduced on the calling thread.
+     */
+    private int parallelThreshold = 50_000;
+}
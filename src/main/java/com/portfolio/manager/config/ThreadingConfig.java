@@ -0,0 +1,31 @@
+package com.portfolio.manager.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports the threading mode. {@code spring.threads.virtual.enabled=true} runs Tomcat request handling,
+ * scheduled jobs and price fetches on virtual threads, but only on Java 21 or later; on older runtimes the
+ * flag is ignored.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreading(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Running on virtual threads");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                    + "running on platform threads", JavaVersion.getJavaVersion());
+        }
+    }
+}
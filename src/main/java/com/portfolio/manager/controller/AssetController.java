@@ -1,9 +1,15 @@
 package com.portfolio.manager.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,12 +21,31 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.AssetPageDTO;
+import com.portfolio.manager.dto.AssetQueryDTO;
+import com.portfolio.manager.dto.BulkImportResultDTO;
+import com.portfolio.manager.dto.PriceUpdateDTO;
+import com.portfolio.manager.dto.ValuationHistoryDTO;
+import com.portfolio.manager.model.AssetRanking;
 import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.HistoryResolution;
+import com.portfolio.manager.model.Portfolio;
+import com.portfolio.manager.service.AssetImportService;
 import com.portfolio.manager.service.AssetService;
+import com.portfolio.manager.service.HoldingsVersion;
+import com.portfolio.manager.service.ValuationHistory;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,31 +57,123 @@ import lombok.extern.slf4j.Slf4j;
 public class AssetController {
 
     private final AssetService assetService;
+    private final AssetImportService assetImportService;
+    private final ValuationHistory valuationHistory;
+    private final HoldingsVersion holdingsVersion;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<AssetDTO>> getAssets(@RequestParam(name = "type", required = false) AssetType type) {
-        log.info("GET /api/assets type={}", type);
-        List<AssetDTO> assets = assetService.getAssets(Optional.ofNullable(type));
-        return ResponseEntity.ok(assets);
+    public ResponseEntity<List<AssetDTO>> getAssets(@Valid AssetQueryDTO query, WebRequest request) {
+        log.debug("GET /api/assets query={}", query);
+        String etag = holdingsVersion.etag(WireFormats.variant(request.getHeader(HttpHeaders.ACCEPT)));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<AssetDTO> assets = assetService.findAssets(query);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .body(assets);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<AssetPageDTO> getAssetPage(
+            @RequestParam(name = "type", required = false) AssetType type,
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        log.debug("GET /api/assets/page type={} after={} limit={}", type, after, limit);
+        return ResponseEntity.ok(assetService.getAssetPage(Optional.ofNullable(type), after, limit));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<AssetDTO>> getTopAssets(
+            @RequestParam(name = "by", defaultValue = "VALUE") AssetRanking ranking,
+            @RequestParam(name = "type", required = false) AssetType type,
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) @Max(100) int limit) {
+        log.debug("GET /api/assets/top by={} type={} limit={}", ranking, type, limit);
+        return ResponseEntity.ok(assetService.getTopAssets(ranking, Optional.ofNullable(type), limit));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAssets(
+            @RequestParam(name = "type", required = false) AssetType type) {
+        log.debug("GET /api/assets/stream type={}", type);
+        ObjectWriter writer = objectMapper.writerFor(AssetDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                assetService.streamAssets(Optional.ofNullable(type), asset -> {
+                    try {
+                        writer.writeValue(generator, asset);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @PostMapping
     public ResponseEntity<AssetDTO> createAsset(@Valid @RequestBody AssetDTO request) {
-        log.info("POST /api/assets symbol={}", request.getSymbol());
+        log.debug("POST /api/assets symbol={}", request.getSymbol());
         AssetDTO created = assetService.createAsset(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResultDTO> importAssets(
+            @RequestParam(name = "portfolioId", defaultValue = "" + Portfolio.DEFAULT_ID) long portfolioId,
+            @RequestBody List<AssetDTO> requests) {
+        log.debug("POST /api/assets/bulk portfolioId={} rows={}", portfolioId, requests.size());
+        return ResponseEntity.ok(assetImportService.importAssets(portfolioId, requests));
+    }
+
+    @PostMapping(path = "/bulk", consumes = "text/csv")
+    public ResponseEntity<BulkImportResultDTO> importAssetsCsv(
+            @RequestParam(name = "portfolioId", defaultValue = "" + Portfolio.DEFAULT_ID) long portfolioId,
+            @RequestBody String csv) {
+        log.debug("POST /api/assets/bulk (csv) portfolioId={}", portfolioId);
+        return ResponseEntity.ok(assetImportService.importCsv(portfolioId, csv));
+    }
+
+    /**
+     * Value history of an asset; kept after the asset is deleted.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ValuationHistoryDTO> getHistory(
+            @PathVariable Long id,
+            @RequestParam(name = "resolution", defaultValue = "DAY") HistoryResolution resolution,
+            @RequestParam(name = "from") Instant from,
+            @RequestParam(name = "to", required = false) Instant to) {
+        log.debug("GET /api/assets/{}/history resolution={} from={} to={}", id, resolution, from, to);
+        Instant end = to == null ? Instant.now() : to;
+        return ResponseEntity.ok(valuationHistory.getAssetHistory(id, resolution, from, end));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AssetDTO> updateAsset(@PathVariable Long id, @Valid @RequestBody AssetDTO request) {
-        log.info("PUT /api/assets/{}", id);
+        log.debug("PUT /api/assets/{}", id);
         AssetDTO updated = assetService.updateAsset(id, request);
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Sets only the current price; never conflicts with concurrent edits of the asset.
+     */
+    @PutMapping("/{id}/price")
+    public ResponseEntity<Void> updatePrice(@PathVariable Long id, @Valid @RequestBody PriceUpdateDTO request) {
+        log.debug("PUT /api/assets/{}/price", id);
+        assetService.updatePrice(id, request.getCurrentPrice());
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAsset(@PathVariable Long id) {
-        log.info("DELETE /api/assets/{}", id);
+        log.debug("DELETE /api/assets/{}", id);
         assetService.deleteAsset(id);
         return ResponseEntity.noContent().build();
     }
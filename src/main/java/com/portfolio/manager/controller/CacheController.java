@@ -0,0 +1,34 @@
+package com.portfolio.manager.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.portfolio.manager.dto.CacheStatsDTO;
+import com.portfolio.manager.service.AssetDtoCache;
+import com.portfolio.manager.service.PortfolioSummaryCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheController {
+
+    private final AssetDtoCache assetDtoCache;
+    private final PortfolioSummaryCache portfolioSummaryCache;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, CacheStatsDTO>> getStats() {
+        log.debug("GET /api/cache/stats");
+        Map<String, CacheStatsDTO> stats = new LinkedHashMap<>(assetDtoCache.stats());
+        stats.put("portfolioSummaries", portfolioSummaryCache.stats());
+        return ResponseEntity.ok(stats);
+    }
+}
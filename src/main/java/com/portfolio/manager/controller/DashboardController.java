@@ -2,15 +2,31 @@ package com.portfolio.manager.controller;
 
 import java.util.Map;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.dto.RiskQueryDTO;
+import com.portfolio.manager.dto.RiskReportDTO;
+import com.portfolio.manager.dto.ScenarioReportDTO;
+import com.portfolio.manager.dto.ScenarioRequestDTO;
 import com.portfolio.manager.service.DashboardService;
+import com.portfolio.manager.service.DashboardStreamService;
+import com.portfolio.manager.service.HoldingsVersion;
 import com.portfolio.manager.service.PriceUpdateService;
+import com.portfolio.manager.service.RiskService;
+import com.portfolio.manager.service.ScenarioService;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,17 +37,47 @@ import lombok.extern.slf4j.Slf4j;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardStreamService dashboardStreamService;
     private final PriceUpdateService priceUpdateService;
+    private final RiskService riskService;
+    private final HoldingsVersion holdingsVersion;
+    private final ScenarioService scenarioService;
 
     @GetMapping("/dashboard")
-    public ResponseEntity<PortfolioSummaryDTO> getDashboard() {
-        log.info("GET /api/dashboard");
-        return ResponseEntity.ok(dashboardService.getPortfolioSummary());
+    public ResponseEntity<PortfolioSummaryDTO> getDashboard(WebRequest request) {
+        log.debug("GET /api/dashboard");
+        String etag = holdingsVersion.etag(WireFormats.variant(request.getHeader(HttpHeaders.ACCEPT)));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag)
+                .body(dashboardService.getPortfolioSummary());
+    }
+
+    @GetMapping("/risk")
+    public ResponseEntity<RiskReportDTO> getRisk(@Valid RiskQueryDTO query) {
+        log.debug("GET /api/risk query={}", query);
+        return ResponseEntity.ok(riskService.getRisk(query));
+    }
+
+    @PostMapping("/scenarios")
+    public ResponseEntity<ScenarioReportDTO> runScenarios(@Valid @RequestBody ScenarioRequestDTO request) {
+        log.debug("POST /api/scenarios count={}", request.getScenarios().size());
+        return ResponseEntity.ok(scenarioService.runScenarios(request));
+    }
+
+    @GetMapping(path = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        log.debug("GET /api/dashboard/stream");
+        return dashboardStreamService.subscribe();
     }
 
     @GetMapping("/prices/update")
     public ResponseEntity<Map<String, String>> updatePrices() {
-        log.info("GET /api/prices/update");
+        log.debug("GET /api/prices/update");
         String message = priceUpdateService.refreshPrices();
         return ResponseEntity.ok(Map.of("message", message));
     }
@@ -0,0 +1,116 @@
+package com.portfolio.manager.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.portfolio.manager.dto.AssetPageDTO;
+import com.portfolio.manager.dto.PortfolioDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.dto.RebalancePlanDTO;
+import com.portfolio.manager.dto.RebalanceTargetsDTO;
+import com.portfolio.manager.dto.RiskQueryDTO;
+import com.portfolio.manager.dto.RiskReportDTO;
+import com.portfolio.manager.dto.ScenarioReportDTO;
+import com.portfolio.manager.dto.ScenarioRequestDTO;
+import com.portfolio.manager.dto.ValuationHistoryDTO;
+import com.portfolio.manager.model.HistoryResolution;
+import com.portfolio.manager.service.PortfolioService;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/portfolios")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class PortfolioController {
+
+    private final PortfolioService portfolioService;
+
+    @GetMapping
+    public ResponseEntity<List<PortfolioDTO>> getPortfolios() {
+        log.debug("GET /api/portfolios");
+        return ResponseEntity.ok(portfolioService.getPortfolios());
+    }
+
+    @PostMapping
+    public ResponseEntity<PortfolioDTO> createPortfolio(@Valid @RequestBody PortfolioDTO request) {
+        log.debug("POST /api/portfolios name={}", request.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(portfolioService.createPortfolio(request));
+    }
+
+    @GetMapping("/{id}/assets")
+    public ResponseEntity<AssetPageDTO> getAssetPage(
+            @PathVariable Long id,
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        log.debug("GET /api/portfolios/{}/assets after={} limit={}", id, after, limit);
+        return ResponseEntity.ok(portfolioService.getAssetPage(id, after, limit));
+    }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<PortfolioSummaryDTO> getDashboard(@PathVariable Long id) {
+        log.debug("GET /api/portfolios/{}/dashboard", id);
+        return ResponseEntity.ok(portfolioService.getSummary(id));
+    }
+
+    @GetMapping("/{id}/risk")
+    public ResponseEntity<RiskReportDTO> getRisk(@PathVariable Long id, @Valid RiskQueryDTO query) {
+        log.debug("GET /api/portfolios/{}/risk query={}", id, query);
+        return ResponseEntity.ok(portfolioService.getRisk(id, query));
+    }
+
+    @PostMapping("/{id}/scenarios")
+    public ResponseEntity<ScenarioReportDTO> runScenarios(@PathVariable Long id,
+                                                          @Valid @RequestBody ScenarioRequestDTO request) {
+        log.debug("POST /api/portfolios/{}/scenarios count={}", id, request.getScenarios().size());
+        return ResponseEntity.ok(portfolioService.runScenarios(id, request));
+    }
+
+    @PutMapping("/{id}/rebalance/targets")
+    public ResponseEntity<RebalancePlanDTO> setRebalanceTargets(@PathVariable Long id,
+                                                                @Valid @RequestBody RebalanceTargetsDTO request) {
+        log.debug("PUT /api/portfolios/{}/rebalance/targets", id);
+        return ResponseEntity.ok(portfolioService.setRebalanceTargets(id, request));
+    }
+
+    @GetMapping("/{id}/rebalance")
+    public ResponseEntity<RebalancePlanDTO> getRebalancePlan(@PathVariable Long id) {
+        log.debug("GET /api/portfolios/{}/rebalance", id);
+        return ResponseEntity.ok(portfolioService.getRebalancePlan(id));
+    }
+
+    @DeleteMapping("/{id}/rebalance/targets")
+    public ResponseEntity<Void> clearRebalanceTargets(@PathVariable Long id) {
+        log.debug("DELETE /api/portfolios/{}/rebalance/targets", id);
+        portfolioService.clearRebalanceTargets(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ValuationHistoryDTO> getHistory(
+            @PathVariable Long id,
+            @RequestParam(name = "resolution", defaultValue = "DAY") HistoryResolution resolution,
+            @RequestParam(name = "from") Instant from,
+            @RequestParam(name = "to", required = false) Instant to) {
+        log.debug("GET /api/portfolios/{}/history resolution={} from={} to={}", id, resolution, from, to);
+        return ResponseEntity.ok(portfolioService.getHistory(id, resolution, from, to == null ? Instant.now() : to));
+    }
+}
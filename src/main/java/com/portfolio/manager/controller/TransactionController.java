@@ -0,0 +1,55 @@
+package com.portfolio.manager.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.TransactionDTO;
+import com.portfolio.manager.dto.TransactionPageDTO;
+import com.portfolio.manager.service.TransactionService;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/assets/{assetId}/transactions")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class TransactionController {
+
+    private final TransactionService transactionService;
+
+    @GetMapping
+    public ResponseEntity<TransactionPageDTO> getTransactions(
+            @PathVariable Long assetId,
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        log.debug("GET /api/assets/{}/transactions after={} limit={}", assetId, after, limit);
+        return ResponseEntity.ok(transactionService.getTransactions(assetId, after, limit));
+    }
+
+    @PostMapping
+    public ResponseEntity<AssetDTO> recordTransaction(@PathVariable Long assetId,
+                                                      @Valid @RequestBody TransactionDTO request) {
+        log.debug("POST /api/assets/{}/transactions type={}", assetId, request.getType());
+        return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.recordTransaction(assetId, request));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<AssetDTO> replayPosition(@PathVariable Long assetId) {
+        log.debug("POST /api/assets/{}/transactions/replay", assetId);
+        return ResponseEntity.ok(transactionService.replayPosition(assetId));
+    }
+}
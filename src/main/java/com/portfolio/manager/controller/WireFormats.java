@@ -0,0 +1,50 @@
+package com.portfolio.manager.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Representations of the read endpoints, in the order the message converters offer them. Used to tag each
+ * representation with its own ETag before the response is computed.
+ */
+final class WireFormats {
+
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, SMILE,
+            MediaType.APPLICATION_CBOR);
+
+    private WireFormats() {
+    }
+
+    /**
+     * ETag variant of the representation an {@code Accept} header selects: {@code null} for JSON, otherwise
+     * the subtype.
+     */
+    static String variant(String accept) {
+        MediaType selected = negotiate(accept);
+        return MediaType.APPLICATION_JSON.equals(selected) ? null : selected.getSubtype();
+    }
+
+    private static MediaType negotiate(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            for (MediaType producible : PRODUCIBLE) {
+                if (type.isCompatibleWith(producible) && type.getQualityValue() > 0) {
+                    return producible;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -21,6 +21,11 @@ public class AssetDTO {
 
     private Long id;
 
+    /**
+     * Owning portfolio; defaults to the default portfolio on create and cannot be changed afterwards.
+     */
+    private Long portfolioId;
+
     @NotBlank(message = "Symbol is required")
     private String symbol;
 
@@ -40,6 +45,9 @@ public class AssetDTO {
     @Digits(integer = 13, fraction = 2, message = "Average buy price must have up to 13 digits and 2 decimals")
     private BigDecimal avgBuyPrice;
 
+    /**
+     * Set on create and import; ignored on update, where prices change only through the price endpoint.
+     */
     @DecimalMin(value = "0.00", message = "Current price must be zero or greater")
     @Digits(integer = 13, fraction = 2, message = "Current price must have up to 13 digits and 2 decimals")
     private BigDecimal currentPrice;
@@ -47,4 +55,9 @@ public class AssetDTO {
     private BigDecimal currentValue;
 
     private BigDecimal investedValue;
+
+    /**
+     * Version of the stored asset; required on update, which is rejected if the asset has changed since.
+     */
+    private Long version;
 }
@@ -0,0 +1,22 @@
+package com.portfolio.manager.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetPageDTO {
+
+    private List<AssetDTO> items;
+
+    /**
+     * Id to pass as {@code after} to fetch the next page; null on the last page.
+     */
+    private Long nextCursor;
+}
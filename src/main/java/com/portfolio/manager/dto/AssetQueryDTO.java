@@ -0,0 +1,47 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.domain.Sort;
+
+import com.portfolio.manager.model.AssetSort;
+import com.portfolio.manager.model.AssetType;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filters, sort order and limit of an asset list query; every field is optional.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetQueryDTO {
+
+    private AssetType type;
+
+    @Size(max = 20, message = "Symbol prefix must be at most 20 characters")
+    private String symbol;
+
+    private BigDecimal minValue;
+
+    private BigDecimal maxValue;
+
+    private BigDecimal minQuantity;
+
+    private BigDecimal maxQuantity;
+
+    private AssetSort sort;
+
+    private Sort.Direction direction;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 1000, message = "Limit must be at most 1000")
+    private Integer limit;
+}
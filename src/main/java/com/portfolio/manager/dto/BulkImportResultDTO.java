@@ -0,0 +1,32 @@
+package com.portfolio.manager.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+
+    private int created;
+
+    private int updated;
+
+    private int failed;
+
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String symbol;
+        private String message;
+    }
+}
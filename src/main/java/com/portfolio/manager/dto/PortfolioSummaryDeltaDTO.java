@@ -0,0 +1,36 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.portfolio.manager.model.AssetType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changes between two portfolio summaries; fields that did not change are omitted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PortfolioSummaryDeltaDTO {
+
+    private BigDecimal totalValue;
+
+    private AssetDTO bestPerformer;
+
+    private AssetDTO worstPerformer;
+
+    private Map<AssetType, BigDecimal> allocationByType;
+
+    private Set<AssetType> removedTypes;
+
+    private Integer assetCount;
+}
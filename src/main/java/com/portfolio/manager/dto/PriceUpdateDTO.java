@@ -0,0 +1,23 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateDTO {
+
+    @NotNull(message = "Current price is required")
+    @DecimalMin(value = "0.00", message = "Current price must be zero or greater")
+    @Digits(integer = 13, fraction = 2, message = "Current price must have up to 13 digits and 2 decimals")
+    private BigDecimal currentPrice;
+}
@@ -0,0 +1,73 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebalancePlanDTO {
+
+    private Long portfolioId;
+
+    private BigDecimal totalValue;
+
+    /**
+     * True when every reachable target is within its tolerance band and no trade is needed.
+     */
+    private boolean withinTolerance;
+
+    /**
+     * Value bought, which equals the value sold up to rounding.
+     */
+    private BigDecimal turnover;
+
+    private List<Allocation> allocations;
+
+    private List<Trade> trades;
+
+    /**
+     * A type, or a symbol with its own weight. Weights are percentages of the portfolio value.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Allocation {
+        private AssetType assetType;
+        private String symbol;
+        private BigDecimal currentWeight;
+        private BigDecimal targetWeight;
+        /**
+         * Value to buy (positive) or sell (negative).
+         */
+        private BigDecimal tradeValue;
+        /**
+         * False when nothing of the type or symbol is held at a price, so the target cannot be traded toward.
+         */
+        private boolean reachable;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Trade {
+        private Long assetId;
+        private String symbol;
+        private AssetType assetType;
+        private TransactionType side;
+        private BigDecimal quantity;
+        private BigDecimal price;
+        private BigDecimal value;
+    }
+}
@@ -0,0 +1,40 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import com.portfolio.manager.model.AssetType;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Target allocation of a portfolio in percent of its value. Symbol weights are carved out of the weight of
+ * the symbol's type; the type's other assets share the rest.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebalanceTargetsDTO {
+
+    @NotEmpty(message = "Type weights are required")
+    private Map<AssetType, @NotNull @DecimalMin(value = "0", message = "Weights must be zero or greater")
+            @DecimalMax(value = "100", message = "Weights must be at most 100") BigDecimal> typeWeights;
+
+    private Map<String, @NotNull @DecimalMin(value = "0", message = "Weights must be zero or greater")
+            @DecimalMax(value = "100", message = "Weights must be at most 100") BigDecimal> symbolWeights;
+
+    /**
+     * Allowed drift from each target in percentage points before a trade is proposed; 5 if unset.
+     */
+    @DecimalMin(value = "0", message = "Tolerance must be zero or greater")
+    @DecimalMax(value = "50", message = "Tolerance must be at most 50")
+    private BigDecimal tolerance;
+}
@@ -0,0 +1,34 @@
+package com.portfolio.manager.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parameters of a risk report; unset fields take their defaults.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskQueryDTO {
+
+    @DecimalMin(value = "0.5", message = "Confidence must be at least 0.5")
+    @DecimalMax(value = "0.9999", message = "Confidence must be at most 0.9999")
+    private Double confidence;
+
+    @Min(value = 1, message = "Horizon must be at least 1 day")
+    @Max(value = 250, message = "Horizon must be at most 250 days")
+    private Integer horizonDays;
+
+    @Min(value = 1000, message = "Paths must be at least 1000")
+    @Max(value = 1_000_000, message = "Paths must be at most 1000000")
+    private Integer paths;
+
+    private Long seed;
+}
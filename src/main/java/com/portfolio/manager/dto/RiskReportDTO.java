@@ -0,0 +1,57 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import com.portfolio.manager.model.AssetType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskReportDTO {
+
+    private BigDecimal totalValue;
+
+    private double confidence;
+
+    private int horizonDays;
+
+    /**
+     * Daily returns the figures are based on.
+     */
+    private int observations;
+
+    private int paths;
+
+    /**
+     * Seed of the simulation; passing it back reproduces the Monte Carlo figures.
+     */
+    private long seed;
+
+    /**
+     * Losses, as positive amounts, over the horizon at the confidence level.
+     */
+    private BigDecimal historicalVar;
+
+    private BigDecimal monteCarloVar;
+
+    private BigDecimal expectedShortfall;
+
+    /**
+     * Standard deviation of the daily return, in percent.
+     */
+    private BigDecimal dailyVolatility;
+
+    private BigDecimal annualizedVolatility;
+
+    /**
+     * Each held type's part of the expected shortfall; the parts add up to it.
+     */
+    private Map<AssetType, BigDecimal> riskContributionByType;
+}
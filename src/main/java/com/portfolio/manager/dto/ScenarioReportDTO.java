@@ -0,0 +1,46 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioReportDTO {
+
+    /**
+     * Portfolio the scenarios ran against, null for all portfolios.
+     */
+    private Long portfolioId;
+
+    /**
+     * Value of the holdings before any shock.
+     */
+    private BigDecimal totalValue;
+
+    private List<Result> scenarios;
+
+    /**
+     * Outcome of one scenario, in request order. Best and worst performer are ranked by their shocked gain.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+
+        private String name;
+
+        private PortfolioSummaryDTO summary;
+
+        private BigDecimal valueChange;
+
+        private BigDecimal valueChangePercent;
+    }
+}
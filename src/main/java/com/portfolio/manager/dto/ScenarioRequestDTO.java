@@ -0,0 +1,52 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import com.portfolio.manager.model.AssetType;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioRequestDTO {
+
+    @NotEmpty(message = "At least one scenario is required")
+    @Size(max = 100, message = "At most 100 scenarios per request")
+    private List<@NotNull @Valid Scenario> scenarios;
+
+    /**
+     * Price shocks in percent, e.g. {@code -40} for a 40% drop. A symbol's shock replaces the shock of its type;
+     * unshocked assets keep their price.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Scenario {
+
+        @Size(max = 100, message = "Scenario name must be at most 100 characters")
+        private String name;
+
+        private Map<AssetType, @NotNull @DecimalMin(value = "-100", message = "Shocks must be at least -100")
+                @DecimalMax(value = "1000", message = "Shocks must be at most 1000")
+                @Digits(integer = 4, fraction = 4, message = "Shocks must have up to 4 decimals") BigDecimal> typeShocks;
+
+        private Map<String, @NotNull @DecimalMin(value = "-100", message = "Shocks must be at least -100")
+                @DecimalMax(value = "1000", message = "Shocks must be at most 1000")
+                @Digits(integer = 4, fraction = 4, message = "Shocks must have up to 4 decimals") BigDecimal> symbolShocks;
+    }
+}
@@ -0,0 +1,48 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.portfolio.manager.model.TransactionType;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDTO {
+
+    private Long id;
+
+    private Long assetId;
+
+    /**
+     * Position of the entry in the asset's ledger, starting at 1; assigned by the server.
+     */
+    private Long sequence;
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+
+    @NotNull(message = "Quantity is required")
+    @DecimalMin(value = "0.0001", message = "Quantity must be greater than zero")
+    @Digits(integer = 11, fraction = 4, message = "Quantity must have up to 11 digits and 4 decimals")
+    private BigDecimal quantity;
+
+    /**
+     * Execution price for buys and sells; the new average buy price for adjustments.
+     */
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.00", inclusive = false, message = "Price must be greater than zero")
+    @Digits(integer = 13, fraction = 2, message = "Price must have up to 13 digits and 2 decimals")
+    private BigDecimal price;
+
+    private LocalDateTime createdAt;
+}
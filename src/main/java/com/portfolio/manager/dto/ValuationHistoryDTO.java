@@ -0,0 +1,35 @@
+package com.portfolio.manager.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import com.portfolio.manager.model.HistoryResolution;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValuationHistoryDTO {
+
+    private HistoryResolution resolution;
+
+    /**
+     * Values in time order. Rollup points are stamped with the start of their bucket and hold the last value
+     * sampled in it; the newest bucket may still be open.
+     */
+    private List<Point> points;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private Instant timestamp;
+        private BigDecimal value;
+    }
+}
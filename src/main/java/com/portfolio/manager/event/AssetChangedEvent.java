@@ -0,0 +1,23 @@
+package com.portfolio.manager.event;
+
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Published after an asset has been created, updated or deleted. {@code asset} is null for deletions;
+ * {@code previousType} is null for creations. An asset never changes portfolio.
+ */
+public record AssetChangedEvent(Long assetId, Long portfolioId, AssetType previousType, Asset asset) {
+
+    public static AssetChangedEvent saved(AssetType previousType, Asset asset) {
+        return new AssetChangedEvent(asset.getId(), asset.getPortfolioId(), previousType, asset);
+    }
+
+    public static AssetChangedEvent deleted(Long assetId, Long portfolioId, AssetType previousType) {
+        return new AssetChangedEvent(assetId, portfolioId, previousType, null);
+    }
+
+    public boolean isDeleted() {
+        return asset == null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.portfolio.manager.event;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Published after a batch of current prices has been written directly to the assets table.
+ */
+public record AssetPricesChangedEvent(List<PriceChange> changes) {
+
+    public record PriceChange(Long assetId, Long portfolioId, AssetType assetType, BigDecimal currentPrice) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.portfolio.manager.event;
+
+import java.time.Instant;
+
+/**
+ * Published once a full price refresh has finished, whether or not any price changed.
+ */
+public record PricesRefreshedEvent(Instant refreshedAt) {
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.Column;
@@ -13,15 +14,34 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+/**
+ * An asset held in a portfolio. Edits are checked against {@code version}. Price refreshes write
+ * {@code current_price} directly and leave the version alone. Entity updates write only the columns they
+ * change, so an edit never writes back a price it read before a refresh; bulk imports, which need batching,
+ * update through their own statement.
+ */
 @Entity
-@Table(name = "assets")
+@DynamicUpdate
+@Table(name = "assets", indexes = {
+        @Index(name = "idx_assets_type_value", columnList = "asset_type, current_value"),
+        @Index(name = "idx_assets_value", columnList = "current_value"),
+        @Index(name = "idx_assets_gain", columnList = "unrealized_gain"),
+        @Index(name = "idx_assets_gain_percent", columnList = "gain_percent"),
+        @Index(name = "idx_assets_symbol", columnList = "symbol"),
+        @Index(name = "idx_assets_portfolio_value", columnList = "portfolio_id, asset_type, current_value"),
+        @Index(name = "idx_assets_portfolio_gain", columnList = "portfolio_id, unrealized_gain"),
+        @Index(name = "idx_assets_portfolio", columnList = "portfolio_id"),
+        @Index(name = "idx_assets_portfolio_symbol", columnList = "portfolio_id, symbol")})
 @Getter
 @Setter
 @Builder
@@ -30,9 +50,13 @@ import lombok.Setter;
 public class Asset {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_id_seq")
+    @SequenceGenerator(name = "asset_id_seq", sequenceName = "asset_id_seq", allocationSize = 50)
     private Long id;
 
+    @Column(name = "portfolio_id", nullable = false, updatable = false)
+    private Long portfolioId;
+
     @Column(name = "symbol", length = 20, nullable = false)
     private String symbol;
 
@@ -52,6 +76,41 @@ public class Asset {
     @Column(name = "current_price", precision = 15, scale = 2)
     private BigDecimal currentPrice;
 
+    /**
+     * Generated columns, maintained by the database so they can be filtered, sorted and indexed; a missing
+     * current price counts as zero. They are virtual, and their indexes hold the computed values. Read-only
+     * here and only populated on entities read back from the database.
+     */
+    @Column(name = "current_value", insertable = false, updatable = false,
+            columnDefinition = "DECIMAL(30,6) GENERATED ALWAYS AS (quantity * COALESCE(current_price, 0))")
+    private BigDecimal currentValue;
+
+    @Column(name = "invested_value", insertable = false, updatable = false,
+            columnDefinition = "DECIMAL(30,6) GENERATED ALWAYS AS (quantity * avg_buy_price)")
+    private BigDecimal investedValue;
+
+    @Column(name = "unrealized_gain", insertable = false, updatable = false,
+            columnDefinition = "DECIMAL(31,6) GENERATED ALWAYS AS "
+                    + "(quantity * (COALESCE(current_price, 0) - avg_buy_price))")
+    private BigDecimal unrealizedGain;
+
+    // Average buy prices are always positive, so the division is defined.
+    @Column(name = "gain_percent", insertable = false, updatable = false,
+            columnDefinition = "DECIMAL(24,6) GENERATED ALWAYS AS "
+                    + "((COALESCE(current_price, 0) - avg_buy_price) * 100 / avg_buy_price)")
+    private BigDecimal gainPercent;
+
+    /**
+     * Sequence of the last ledger entry folded into {@code quantity} and {@code avgBuyPrice}; 0 for positions
+     * that predate the ledger.
+     */
+    @Column(name = "ledger_sequence", nullable = false)
+    private long ledgerSequence;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
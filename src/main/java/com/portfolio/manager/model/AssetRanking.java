@@ -0,0 +1,11 @@
+package com.portfolio.manager.model;
+
+/**
+ * Order of top-N asset lists, highest first.
+ */
+public enum AssetRanking {
+    /** Current value: quantity x current price. */
+    VALUE,
+    /** Unrealized gain: quantity x (current price - average buy price). */
+    GAIN
+}
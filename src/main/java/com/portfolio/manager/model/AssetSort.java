@@ -0,0 +1,33 @@
+package com.portfolio.manager.model;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Sort keys of asset queries, each backed by an indexed column.
+ */
+public enum AssetSort {
+    /** Current value, highest first by default. */
+    VALUE("currentValue", Sort.Direction.DESC),
+    /** Unrealized gain, highest first by default. */
+    GAIN("unrealizedGain", Sort.Direction.DESC),
+    /** Unrealized gain relative to the average buy price, highest first by default. */
+    GAIN_PERCENT("gainPercent", Sort.Direction.DESC),
+    /** Symbol, alphabetical by default. */
+    SYMBOL("symbol", Sort.Direction.ASC);
+
+    private final String property;
+    private final Sort.Direction defaultDirection;
+
+    AssetSort(String property, Sort.Direction defaultDirection) {
+        this.property = property;
+        this.defaultDirection = defaultDirection;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDefaultDirection() {
+        return defaultDirection;
+    }
+}
@@ -0,0 +1,64 @@
+package com.portfolio.manager.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry of the append-only position ledger. {@code sequence} numbers the entries of one asset from 1 without
+ * gaps; the asset's quantity and average buy price are the fold of its entries in that order.
+ */
+@Entity
+@Immutable
+@Table(name = "asset_transactions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_asset_transactions_sequence",
+                columnNames = {"asset_id", "sequence"}))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_transaction_id_seq")
+    @SequenceGenerator(name = "asset_transaction_id_seq", sequenceName = "asset_transaction_id_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "asset_id", nullable = false, updatable = false)
+    private Long assetId;
+
+    @Column(name = "sequence", nullable = false, updatable = false)
+    private long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 10, nullable = false, updatable = false)
+    private TransactionType type;
+
+    @Column(name = "quantity", precision = 15, scale = 4, nullable = false, updatable = false)
+    private BigDecimal quantity;
+
+    @Column(name = "price", precision = 15, scale = 2, nullable = false, updatable = false)
+    private BigDecimal price;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
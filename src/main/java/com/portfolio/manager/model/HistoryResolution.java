@@ -0,0 +1,41 @@
+package com.portfolio.manager.model;
+
+import java.time.Duration;
+
+/**
+ * Granularity of stored valuation history. Rollups keep the last value seen in each bucket, like a
+ * closing price. Each series is split into segment files covering {@code segment} of time.
+ */
+public enum HistoryResolution {
+    RAW(Duration.ofSeconds(1), Duration.ofDays(1)),
+    MINUTE(Duration.ofMinutes(1), Duration.ofDays(4)),
+    HOUR(Duration.ofHours(1), Duration.ofDays(64)),
+    DAY(Duration.ofDays(1), Duration.ofDays(732));
+
+    private final long bucketSeconds;
+    private final long segmentSeconds;
+
+    HistoryResolution(Duration bucket, Duration segment) {
+        this.bucketSeconds = bucket.toSeconds();
+        this.segmentSeconds = segment.toSeconds();
+    }
+
+    public long bucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public long segmentSeconds() {
+        return segmentSeconds;
+    }
+
+    /**
+     * Start of the bucket containing {@code epochSecond}.
+     */
+    public long bucketStart(long epochSecond) {
+        return Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds;
+    }
+
+    public long segmentIndex(long epochSecond) {
+        return Math.floorDiv(epochSecond, segmentSeconds);
+    }
+}
@@ -0,0 +1,47 @@
+package com.portfolio.manager.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Latest checkpoint of an asset's position: the fold of its ledger entries up to and including
+ * {@code sequence}. Replays start here instead of at the first entry.
+ */
+@Entity
+@Table(name = "position_snapshots")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionSnapshot {
+
+    @Id
+    @Column(name = "asset_id")
+    private Long assetId;
+
+    @Column(name = "sequence", nullable = false)
+    private long sequence;
+
+    @Column(name = "quantity", precision = 15, scale = 4, nullable = false)
+    private BigDecimal quantity;
+
+    @Column(name = "avg_buy_price", precision = 15, scale = 2, nullable = false)
+    private BigDecimal avgBuyPrice;
+
+    @UpdateTimestamp
+    @Column(name = "taken_at")
+    private LocalDateTime takenAt;
+}
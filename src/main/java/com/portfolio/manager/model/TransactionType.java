@@ -0,0 +1,10 @@
+package com.portfolio.manager.model;
+
+public enum TransactionType {
+    BUY,
+    SELL,
+    /**
+     * Sets the position to the given quantity and average price, e.g. an opening balance or a manual edit.
+     */
+    ADJUST
+}
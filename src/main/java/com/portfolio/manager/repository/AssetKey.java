@@ -0,0 +1,15 @@
+package com.portfolio.manager.repository;
+
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Identity of an asset as the caches and aggregates key it.
+ */
+public interface AssetKey {
+
+    Long getId();
+
+    Long getPortfolioId();
+
+    AssetType getAssetType();
+}
@@ -1,13 +1,95 @@
 package com.portfolio.manager.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.portfolio.manager.model.Asset;
 import com.portfolio.manager.model.AssetType;
 
-public interface AssetRepository extends JpaRepository<Asset, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface AssetRepository extends JpaRepository<Asset, Long>, JpaSpecificationExecutor<Asset> {
 
     List<Asset> findByAssetType(AssetType assetType);
+
+    // Serializes ledger appends per asset so sequences stay gapless.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Asset> findLockedById(Long id);
+
+    @Query("SELECT a.id AS id, a.portfolioId AS portfolioId, a.assetType AS assetType FROM Asset a WHERE a.id = :id")
+    Optional<AssetKey> findKeyById(@Param("id") Long id);
+
+    // A bulk update: no entity is loaded and the version is not incremented.
+    @Modifying
+    @Query("UPDATE Asset a SET a.currentPrice = :price, a.updatedAt = LOCAL DATETIME WHERE a.id = :id")
+    int updateCurrentPrice(@Param("id") Long id, @Param("price") BigDecimal price);
+
+    // Takes the same row locks as findLockedById, in id order so concurrent imports cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Asset> findLockedByPortfolioIdAndSymbolInOrderByIdAsc(Long portfolioId, Collection<String> symbols);
+
+    List<Asset> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Asset> findByAssetTypeAndIdGreaterThanOrderByIdAsc(AssetType assetType, Long id, Limit limit);
+
+    List<Asset> findByPortfolioIdAndIdGreaterThanOrderByIdAsc(Long portfolioId, Long id, Limit limit);
+
+    // The generated columns count a missing current price as zero, as the in-memory valuations do.
+    @Query("SELECT a.assetType AS assetType, COUNT(a) AS assetCount, "
+            + "SUM(a.currentValue) AS totalValue FROM Asset a GROUP BY a.assetType")
+    List<AssetTypeTotals> sumValueByType();
+
+    // Ties resolve in the scan direction: the best performer is the highest id, the worst the lowest.
+    @Query("SELECT a.id FROM Asset a ORDER BY a.unrealizedGain DESC, a.id DESC")
+    List<Long> findIdsByGainDesc(Limit limit);
+
+    @Query("SELECT a.id FROM Asset a ORDER BY a.unrealizedGain ASC, a.id")
+    List<Long> findIdsByGainAsc(Limit limit);
+
+    @Query("SELECT a.assetType AS assetType, COUNT(a) AS assetCount, "
+            + "SUM(a.currentValue) AS totalValue FROM Asset a "
+            + "WHERE a.portfolioId = :portfolioId GROUP BY a.assetType")
+    List<AssetTypeTotals> sumValueByTypeInPortfolio(@Param("portfolioId") Long portfolioId);
+
+    @Query("SELECT a.id FROM Asset a WHERE a.portfolioId = :portfolioId "
+            + "ORDER BY a.unrealizedGain DESC, a.id DESC")
+    List<Long> findIdsByGainDescInPortfolio(@Param("portfolioId") Long portfolioId, Limit limit);
+
+    @Query("SELECT a.id FROM Asset a WHERE a.portfolioId = :portfolioId "
+            + "ORDER BY a.unrealizedGain ASC, a.id")
+    List<Long> findIdsByGainAscInPortfolio(@Param("portfolioId") Long portfolioId, Limit limit);
+
+    // Top-N reads walk the value and gain indexes backwards from the top and stop after the limit. The id
+    // tiebreak runs in the same direction as the key, or MySQL falls back to a full scan and filesort.
+    List<Asset> findAllByOrderByCurrentValueDescIdDesc(Limit limit);
+
+    List<Asset> findByAssetTypeOrderByCurrentValueDescIdDesc(AssetType assetType, Limit limit);
+
+    List<Asset> findAllByOrderByUnrealizedGainDescIdDesc(Limit limit);
+
+    List<Asset> findByAssetTypeOrderByUnrealizedGainDescIdDesc(AssetType assetType, Limit limit);
+
+    // MySQL Connector/J only streams rows one at a time when the fetch size is Integer.MIN_VALUE.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT a FROM Asset a ORDER BY a.id")
+    Stream<Asset> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT a FROM Asset a WHERE a.assetType = :assetType ORDER BY a.id")
+    Stream<Asset> streamByAssetType(@Param("assetType") AssetType assetType);
 }
@@ -0,0 +1,61 @@
+package com.portfolio.manager.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Asset filters for {@link AssetRepository#findBy}. Each returns {@code null}, which combines as no restriction,
+ * when its arguments are absent.
+ */
+public final class AssetSpecifications {
+
+    // Not a backslash, which MySQL also treats as an escape inside string literals.
+    private static final char ESCAPE = '!';
+
+    private AssetSpecifications() {
+    }
+
+    public static Specification<Asset> hasType(AssetType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("assetType"), type);
+    }
+
+    // A prefix LIKE without a leading wildcard is a range scan on idx_assets_symbol.
+    public static Specification<Asset> symbolStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escape(prefix.trim()) + "%";
+        return (root, query, cb) -> cb.like(root.get("symbol"), pattern, ESCAPE);
+    }
+
+    public static Specification<Asset> valueBetween(BigDecimal min, BigDecimal max) {
+        return between("currentValue", min, max);
+    }
+
+    public static Specification<Asset> quantityBetween(BigDecimal min, BigDecimal max) {
+        return between("quantity", min, max);
+    }
+
+    private static Specification<Asset> between(String property, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.lessThanOrEqualTo(root.get(property), max);
+            }
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(root.get(property), min);
+            }
+            return cb.between(root.get(property), min, max);
+        };
+    }
+
+    private static String escape(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,14 @@
+package com.portfolio.manager.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.portfolio.manager.model.AssetTransaction;
+
+public interface AssetTransactionRepository extends JpaRepository<AssetTransaction, Long> {
+
+    List<AssetTransaction> findByAssetIdAndSequenceGreaterThanOrderBySequenceAsc(Long assetId, long sequence,
+                                                                                Limit limit);
+}
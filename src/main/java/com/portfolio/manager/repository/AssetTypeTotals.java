@@ -0,0 +1,17 @@
+package com.portfolio.manager.repository;
+
+import java.math.BigDecimal;
+
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Per-type aggregate row: number of assets and unrounded sum of quantity x current price.
+ */
+public interface AssetTypeTotals {
+
+    AssetType getAssetType();
+
+    Long getAssetCount();
+
+    BigDecimal getTotalValue();
+}
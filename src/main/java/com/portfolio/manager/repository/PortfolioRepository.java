@@ -0,0 +1,10 @@
+package com.portfolio.manager.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.portfolio.manager.model.Portfolio;
+
+public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
+
+    boolean existsByName(String name);
+}
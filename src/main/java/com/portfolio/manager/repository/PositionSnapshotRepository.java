@@ -0,0 +1,8 @@
+package com.portfolio.manager.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.portfolio.manager.model.PositionSnapshot;
+
+public interface PositionSnapshotRepository extends JpaRepository<PositionSnapshot, Long> {
+}
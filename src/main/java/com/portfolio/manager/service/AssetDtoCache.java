@@ -0,0 +1,111 @@
+package com.portfolio.manager.service;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.portfolio.manager.config.CacheProperties;
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.CacheStatsDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Caches computed {@link AssetDTO}s by id and asset lists by type. Entries expire after
+ * {@code portfolio.cache.ttl} and are invalidated only for the ids and types touched by a change.
+ */
+@Component
+public class AssetDtoCache {
+
+    private static final String ALL_TYPES = "ALL";
+
+    private final Cache<Long, AssetDTO> byId;
+    private final Cache<String, List<AssetDTO>> byType;
+
+    public AssetDtoCache(CacheProperties properties) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxAssets())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.byType = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxListEntries())
+                .<String, List<AssetDTO>>weigher((key, assets) -> Math.max(1, assets.size()))
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public AssetDTO getById(Long id, Function<Long, AssetDTO> loader) {
+        return byId.get(id, loader);
+    }
+
+    public List<AssetDTO> getList(Optional<AssetType> type, Supplier<List<AssetDTO>> loader) {
+        return byType.get(listKey(type), key -> List.copyOf(loader.get()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PortfolioAggregate.LISTENER_ORDER)
+    public void onAssetChanged(AssetChangedEvent event) {
+        byId.invalidate(event.assetId());
+        Set<AssetType> types = EnumSet.noneOf(AssetType.class);
+        if (event.previousType() != null) {
+            types.add(event.previousType());
+        }
+        if (!event.isDeleted()) {
+            types.add(event.asset().getAssetType());
+        }
+        invalidateLists(types);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PortfolioAggregate.LISTENER_ORDER)
+    public void onPricesChanged(AssetPricesChangedEvent event) {
+        Set<AssetType> types = EnumSet.noneOf(AssetType.class);
+        for (PriceChange change : event.changes()) {
+            byId.invalidate(change.assetId());
+            types.add(change.assetType());
+        }
+        invalidateLists(types);
+    }
+
+    public Map<String, CacheStatsDTO> stats() {
+        Map<String, CacheStatsDTO> stats = new LinkedHashMap<>();
+        stats.put("assetsById", toDto(byId.stats(), byId.estimatedSize()));
+        stats.put("assetsByType", toDto(byType.stats(), byType.estimatedSize()));
+        return stats;
+    }
+
+    private void invalidateLists(Set<AssetType> types) {
+        byType.invalidate(ALL_TYPES);
+        types.forEach(type -> byType.invalidate(type.name()));
+    }
+
+    private static String listKey(Optional<AssetType> type) {
+        return type.map(AssetType::name).orElse(ALL_TYPES);
+    }
+
+    private static CacheStatsDTO toDto(CacheStats stats, long size) {
+        return CacheStatsDTO.builder()
+                .size(size)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
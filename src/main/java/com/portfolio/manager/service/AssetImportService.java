@@ -0,0 +1,333 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.portfolio.manager.config.ImportProperties;
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.BulkImportResultDTO;
+import com.portfolio.manager.dto.BulkImportResultDTO.RowError;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.exception.ResourceNotFoundException;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.PortfolioRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Upserts assets of one portfolio by symbol in bulk. Every row is validated on its own with the same constraints and
+ * business rules as single creates, valid rows are written in JDBC batches of
+ * {@code portfolio.import.batch-size}, one transaction per batch, and failures are reported per row. Position
+ * changes are recorded in the ledger as adjustments, with the existing rows of a batch locked like single
+ * transactions lock theirs. New rows are inserted with their opening ledger position; existing rows are written
+ * back with one batched statement per batch rather than entity updates, since Hibernate does not batch the
+ * dynamic updates that {@link Asset} uses. A row's current price only applies to new assets.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssetImportService {
+
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+            List.of("symbol", "name", "assetType", "quantity", "avgBuyPrice");
+    private static final String CURRENT_PRICE_COLUMN = "currentPrice";
+    private static final String UPDATE_ASSET_SQL = "UPDATE assets SET name = ?, asset_type = ?, quantity = ?, "
+            + "avg_buy_price = ?, ledger_sequence = ?, version = version + 1, "
+            + "updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final AssetService assetService;
+    private final AssetRepository assetRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ImportProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PositionLedger positionLedger;
+
+    /**
+     * Imports a JSON array of assets; rows are numbered from 1 in array order. Rows naming a different
+     * portfolio are rejected.
+     */
+    public BulkImportResultDTO importAssets(long portfolioId, List<AssetDTO> requests) {
+        List<ImportRow> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            AssetDTO request = requests.get(i);
+            rows.add(new ImportRow(i + 1, request, request == null ? "Row is empty" : null));
+        }
+        return importRows(portfolioId, rows);
+    }
+
+    /**
+     * Imports CSV with a header line naming the columns; rows are numbered by line.
+     */
+    public BulkImportResultDTO importCsv(long portfolioId, String csv) {
+        return importRows(portfolioId, parseCsv(csv));
+    }
+
+    private BulkImportResultDTO importRows(long portfolioId, List<ImportRow> rows) {
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new ResourceNotFoundException("Portfolio not found");
+        }
+        List<RowError> errors = new ArrayList<>();
+        List<ImportRow> valid = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String error = row.error() != null ? row.error() : validate(portfolioId, row.request());
+            if (error != null) {
+                errors.add(new RowError(row.rowNumber(), symbolOf(row), error));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        int created = 0;
+        int updated = 0;
+        int batchSize = properties.getBatchSize();
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            List<ImportRow> batch = valid.subList(from, Math.min(valid.size(), from + batchSize));
+            try {
+                BatchResult result = transactionTemplate.execute(status -> writeBatch(portfolioId, batch));
+                created += result.created();
+                updated += result.updated();
+            } catch (DataAccessException | TransactionException ex) {
+                log.error("Bulk import batch starting at row {} failed", batch.get(0).rowNumber(), ex);
+                String message = "Batch write failed: " + ex.getMostSpecificCause().getMessage();
+                batch.forEach(row -> errors.add(new RowError(row.rowNumber(), symbolOf(row), message)));
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(RowError::getRow));
+        log.info("Bulk import finished: {} created, {} updated, {} failed", created, updated, errors.size());
+        return BulkImportResultDTO.builder()
+                .created(created)
+                .updated(updated)
+                .failed(errors.size())
+                .errors(errors)
+                .build();
+    }
+
+    private BatchResult writeBatch(long portfolioId, List<ImportRow> batch) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getBatchSize());
+        Set<String> symbols = new HashSet<>();
+        batch.forEach(row -> symbols.add(row.request().getSymbol().trim()));
+        Map<String, Asset> bySymbol = new HashMap<>();
+        for (Asset existing : assetRepository.findLockedByPortfolioIdAndSymbolInOrderByIdAsc(portfolioId, symbols)) {
+            bySymbol.putIfAbsent(existing.getSymbol(), existing);
+        }
+
+        int created = 0;
+        List<AssetChangedEvent> events = new ArrayList<>(batch.size());
+        // Rows that change an asset which already existed or was created by an earlier row of this batch.
+        List<ImportRow> changes = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            AssetDTO request = row.request();
+            String symbol = request.getSymbol().trim();
+            Asset asset = bySymbol.get(symbol);
+            if (asset == null) {
+                asset = Asset.builder()
+                        .portfolioId(portfolioId)
+                        .symbol(symbol)
+                        .name(request.getName().trim())
+                        .assetType(request.getAssetType())
+                        .currentPrice(request.getCurrentPrice())
+                        .build();
+                positionLedger.open(asset, request.getQuantity(), request.getAvgBuyPrice());
+                entityManager.persist(asset);
+                bySymbol.put(symbol, asset);
+                events.add(AssetChangedEvent.saved(null, asset));
+                created++;
+            } else {
+                changes.add(row);
+            }
+        }
+        // New rows go out as batched inserts that already carry their ledger state. Afterwards every asset is
+        // detached, with its row lock kept, so changes do not turn into one unbatched dynamic update per row.
+        assetRepository.flush();
+        bySymbol.values().forEach(entityManager::detach);
+        for (AssetChangedEvent event : events) {
+            positionLedger.recordOpening(event.asset());
+        }
+
+        Set<Asset> changed = new LinkedHashSet<>();
+        for (ImportRow row : changes) {
+            AssetDTO request = row.request();
+            Asset asset = bySymbol.get(request.getSymbol().trim());
+            AssetType previousType = asset.getAssetType();
+            // The stored price is kept; only price updates and refreshes write it.
+            asset.setName(request.getName().trim());
+            asset.setAssetType(request.getAssetType());
+            positionLedger.adjust(asset, request.getQuantity(), request.getAvgBuyPrice());
+            changed.add(asset);
+            events.add(AssetChangedEvent.saved(previousType, asset));
+        }
+        assetRepository.flush();
+        List<Object[]> updates = new ArrayList<>(changed.size());
+        for (Asset asset : changed) {
+            updates.add(new Object[] {asset.getName(), asset.getAssetType().name(), asset.getQuantity(),
+                    asset.getAvgBuyPrice(), asset.getLedgerSequence(), asset.getId()});
+            asset.setVersion(asset.getVersion() + 1);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ASSET_SQL, updates);
+        }
+        entityManager.clear();
+        events.forEach(eventPublisher::publishEvent);
+        return new BatchResult(created, batch.size() - created);
+    }
+
+    private String validate(long portfolioId, AssetDTO request) {
+        if (request.getPortfolioId() != null && request.getPortfolioId() != portfolioId) {
+            return "portfolioId: Row belongs to portfolio " + request.getPortfolioId() + ", not " + portfolioId;
+        }
+        Set<ConstraintViolation<AssetDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            assetService.validateBusinessRules(request);
+            return null;
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private List<ImportRow> parseCsv(String csv) {
+        String[] lines = csv.split("\r?\n");
+        int headerIndex = 0;
+        while (headerIndex < lines.length && lines[headerIndex].isBlank()) {
+            headerIndex++;
+        }
+        if (headerIndex == lines.length) {
+            return List.of();
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = splitCsvLine(lines[headerIndex]);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("CSV header must contain columns: "
+                        + String.join(",", REQUIRED_CSV_COLUMNS) + " and optionally " + CURRENT_PRICE_COLUMN);
+            }
+        }
+
+        List<ImportRow> rows = new ArrayList<>();
+        for (int i = headerIndex + 1; i < lines.length; i++) {
+            if (!lines[i].isBlank()) {
+                rows.add(parseCsvRow(i + 1, splitCsvLine(lines[i]), columns, header.size()));
+            }
+        }
+        return rows;
+    }
+
+    private ImportRow parseCsvRow(int lineNumber, List<String> fields, Map<String, Integer> columns, int width) {
+        if (fields.size() != width) {
+            return new ImportRow(lineNumber, null, "Expected " + width + " columns but found " + fields.size());
+        }
+        AssetDTO request = AssetDTO.builder()
+                .symbol(field(fields, columns, "symbol"))
+                .name(field(fields, columns, "name"))
+                .build();
+        try {
+            String type = field(fields, columns, "assetType");
+            request.setAssetType(type == null ? null : AssetType.valueOf(type.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException ex) {
+            return new ImportRow(lineNumber, request, "Invalid assetType: " + field(fields, columns, "assetType"));
+        }
+        try {
+            request.setQuantity(decimal(fields, columns, "quantity"));
+            request.setAvgBuyPrice(decimal(fields, columns, "avgBuyPrice"));
+            request.setCurrentPrice(decimal(fields, columns, CURRENT_PRICE_COLUMN));
+        } catch (NumberFormatException ex) {
+            return new ImportRow(lineNumber, request, ex.getMessage());
+        }
+        return new ImportRow(lineNumber, request, null);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static BigDecimal decimal(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = field(fields, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException ex) {
+            throw new NumberFormatException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static String symbolOf(ImportRow row) {
+        return row.request() == null ? null : row.request().getSymbol();
+    }
+
+    private record ImportRow(int rowNumber, AssetDTO request, String error) {
+    }
+
+    private record BatchResult(int created, int updated) {
+    }
+}
@@ -1,20 +1,39 @@
 package com.portfolio.manager.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.AssetPageDTO;
+import com.portfolio.manager.dto.AssetQueryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
 import com.portfolio.manager.exception.ResourceNotFoundException;
 import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetRanking;
+import com.portfolio.manager.model.AssetSort;
 import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.Portfolio;
+import com.portfolio.manager.repository.AssetKey;
 import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.AssetSpecifications;
+import com.portfolio.manager.repository.PortfolioRepository;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,76 +43,221 @@ import lombok.extern.slf4j.Slf4j;
 public class AssetService {
 
     private static final BigDecimal ZERO = BigDecimal.ZERO;
+    static final int DEFAULT_QUERY_LIMIT = 100;
 
     private final AssetRepository assetRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final AssetDtoCache assetDtoCache;
+    private final PositionLedger positionLedger;
 
     public List<AssetDTO> getAssets(Optional<AssetType> type) {
-        List<Asset> assets = type.map(assetRepository::findByAssetType)
-                .orElseGet(assetRepository::findAll);
+        return assetDtoCache.getList(type, () -> {
+            List<Asset> assets = type.map(assetRepository::findByAssetType)
+                    .orElseGet(assetRepository::findAll);
+            return assets.stream().map(this::toDto).collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Assets matching the query's filters in its sort order (id order if none), at most {@code limit}
+     * (default {@value #DEFAULT_QUERY_LIMIT}). A query with at most a type is served from {@link #getAssets}.
+     */
+    public List<AssetDTO> findAssets(AssetQueryDTO query) {
+        if (isTypeOnly(query)) {
+            return getAssets(Optional.ofNullable(query.getType()));
+        }
+        checkRange(query.getMinValue(), query.getMaxValue(), "value");
+        checkRange(query.getMinQuantity(), query.getMaxQuantity(), "quantity");
+        Specification<Asset> filter = Specification.where(AssetSpecifications.hasType(query.getType()))
+                .and(AssetSpecifications.symbolStartsWith(query.getSymbol()))
+                .and(AssetSpecifications.valueBetween(query.getMinValue(), query.getMaxValue()))
+                .and(AssetSpecifications.quantityBetween(query.getMinQuantity(), query.getMaxQuantity()));
+        Sort order = sortOf(query);
+        int limit = Objects.requireNonNullElse(query.getLimit(), DEFAULT_QUERY_LIMIT);
+        List<Asset> assets = assetRepository.findBy(filter, q -> q.sortBy(order).limit(limit).all());
         return assets.stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    private static boolean isTypeOnly(AssetQueryDTO query) {
+        return query.getSymbol() == null && query.getMinValue() == null && query.getMaxValue() == null
+                && query.getMinQuantity() == null && query.getMaxQuantity() == null && query.getSort() == null
+                && query.getDirection() == null && query.getLimit() == null;
+    }
+
+    private static void checkRange(BigDecimal min, BigDecimal max, String name) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Minimum " + name + " cannot exceed maximum " + name);
+        }
+    }
+
+    // Ties resolve by id in the sort's direction, so limited results are stable and one index scan serves both keys.
+    static Sort sortOf(AssetQueryDTO query) {
+        AssetSort sort = query.getSort();
+        if (sort == null) {
+            return Sort.by(Objects.requireNonNullElse(query.getDirection(), Sort.Direction.ASC), "id");
+        }
+        Sort.Direction direction = Objects.requireNonNullElse(query.getDirection(), sort.getDefaultDirection());
+        return Sort.by(direction, sort.getProperty(), "id");
+    }
+
+    public AssetPageDTO getAssetPage(Optional<AssetType> type, long afterId, int limit) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Asset> assets = type
+                .map(assetType -> assetRepository.findByAssetTypeAndIdGreaterThanOrderByIdAsc(
+                        assetType, afterId, fetchLimit))
+                .orElseGet(() -> assetRepository.findByIdGreaterThanOrderByIdAsc(afterId, fetchLimit));
+        return toPage(assets, limit);
+    }
+
+    public AssetPageDTO getPortfolioAssetPage(long portfolioId, long afterId, int limit) {
+        return toPage(assetRepository.findByPortfolioIdAndIdGreaterThanOrderByIdAsc(
+                portfolioId, afterId, Limit.of(limit + 1)), limit);
+    }
+
+    /**
+     * The {@code limit} assets ranked highest by {@code ranking}, optionally of one type; ties resolve to the
+     * lowest id.
+     */
+    public List<AssetDTO> getTopAssets(AssetRanking ranking, Optional<AssetType> type, int limit) {
+        Limit top = Limit.of(limit);
+        List<Asset> assets = switch (ranking) {
+            case VALUE -> type
+                    .map(assetType -> assetRepository.findByAssetTypeOrderByCurrentValueDescIdDesc(assetType, top))
+                    .orElseGet(() -> assetRepository.findAllByOrderByCurrentValueDescIdDesc(top));
+            case GAIN -> type
+                    .map(assetType -> assetRepository.findByAssetTypeOrderByUnrealizedGainDescIdDesc(assetType, top))
+                    .orElseGet(() -> assetRepository.findAllByOrderByUnrealizedGainDescIdDesc(top));
+        };
+        return assets.stream().map(this::toDto).collect(Collectors.toList());
+    }
+
+    private AssetPageDTO toPage(List<Asset> assets, int limit) {
+        boolean hasMore = assets.size() > limit;
+        List<AssetDTO> items = assets.stream().limit(limit).map(this::toDto).collect(Collectors.toList());
+        return AssetPageDTO.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .build();
+    }
+
+    /**
+     * Passes every matching asset to {@code consumer} in id order while rows are still being read, detaching
+     * each entity afterwards so the persistence context does not grow with the result.
+     */
+    @Transactional(readOnly = true)
+    public void streamAssets(Optional<AssetType> type, Consumer<AssetDTO> consumer) {
+        try (Stream<Asset> assets = type.map(assetRepository::streamByAssetType)
+                .orElseGet(assetRepository::streamAll)) {
+            assets.forEach(asset -> {
+                consumer.accept(toDto(asset));
+                entityManager.detach(asset);
+            });
+        }
+    }
+
+    @Transactional
     public AssetDTO createAsset(AssetDTO request) {
         validateBusinessRules(request);
+        long portfolioId = Objects.requireNonNullElse(request.getPortfolioId(), Portfolio.DEFAULT_ID);
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new ResourceNotFoundException("Portfolio not found");
+        }
         Asset asset = Asset.builder()
+                .portfolioId(portfolioId)
                 .symbol(request.getSymbol().trim())
                 .name(request.getName().trim())
                 .assetType(request.getAssetType())
-                .quantity(request.getQuantity())
-                .avgBuyPrice(request.getAvgBuyPrice())
                 .currentPrice(request.getCurrentPrice())
                 .build();
+        // The position goes into the INSERT itself, so the returned version is the stored one.
+        positionLedger.open(asset, request.getQuantity(), request.getAvgBuyPrice());
         Asset saved = assetRepository.save(asset);
+        positionLedger.recordOpening(saved);
+        eventPublisher.publishEvent(AssetChangedEvent.saved(null, saved));
         log.info("Asset created: {}", saved.getId());
         return toDto(saved);
     }
 
+    /**
+     * Replaces the asset's fields except the current price, which only {@link #updatePrice} and price refreshes
+     * write. A changed quantity or average buy price is recorded in the ledger as an adjustment rather than
+     * overwritten. The request must carry the version it read, and that version must match the stored one.
+     * The row is held from the read until commit, so the price published with the change is the stored one and a
+     * concurrent price refresh lands after it.
+     *
+     * @throws IllegalArgumentException if the request carries no version
+     * @throws ObjectOptimisticLockingFailureException if the asset was changed since the client read it
+     */
+    @Transactional
     public AssetDTO updateAsset(Long id, AssetDTO request) {
         validateBusinessRules(request);
-        Asset asset = assetRepository.findById(id)
+        if (request.getVersion() == null) {
+            throw new IllegalArgumentException("Version is required to update an asset");
+        }
+        Asset asset = assetRepository.findLockedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+        if (request.getVersion() != asset.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Asset.class, id);
+        }
+        AssetType previousType = asset.getAssetType();
         asset.setSymbol(request.getSymbol().trim());
         asset.setName(request.getName().trim());
         asset.setAssetType(request.getAssetType());
-        asset.setQuantity(request.getQuantity());
-        asset.setAvgBuyPrice(request.getAvgBuyPrice());
-        asset.setCurrentPrice(request.getCurrentPrice());
-        Asset saved = assetRepository.save(asset);
+        positionLedger.adjust(asset, request.getQuantity(), request.getAvgBuyPrice());
+        // Flushed so the returned version is the one stored.
+        Asset saved = assetRepository.saveAndFlush(asset);
+        eventPublisher.publishEvent(AssetChangedEvent.saved(previousType, saved));
         log.info("Asset updated: {}", saved.getId());
         return toDto(saved);
     }
 
+    /**
+     * Sets the current price with a single UPDATE, without loading the asset or changing its version.
+     */
+    @Transactional
+    public void updatePrice(Long id, BigDecimal price) {
+        AssetKey key = assetRepository.findKeyById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+        if (assetRepository.updateCurrentPrice(id, price) == 0) {
+            throw new ResourceNotFoundException("Asset not found");
+        }
+        eventPublisher.publishEvent(new AssetPricesChangedEvent(
+                List.of(new PriceChange(id, key.getPortfolioId(), key.getAssetType(), price))));
+    }
+
     public void deleteAsset(Long id) {
         Asset asset = assetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
         assetRepository.delete(asset);
+        eventPublisher.publishEvent(AssetChangedEvent.deleted(id, asset.getPortfolioId(), asset.getAssetType()));
         log.info("Asset deleted: {}", id);
     }
 
     public AssetDTO getAssetById(Long id) {
-        Asset asset = assetRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
-        return toDto(asset);
+        return assetDtoCache.getById(id, key -> assetRepository.findById(key)
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found")));
     }
 
-    private AssetDTO toDto(Asset asset) {
-        BigDecimal currentPrice = Objects.requireNonNullElse(asset.getCurrentPrice(), ZERO);
-        BigDecimal currentValue = asset.getQuantity().multiply(currentPrice);
-        BigDecimal investedValue = asset.getQuantity().multiply(asset.getAvgBuyPrice());
+    AssetDTO toDto(Asset asset) {
         return AssetDTO.builder()
                 .id(asset.getId())
+                .portfolioId(asset.getPortfolioId())
                 .symbol(asset.getSymbol())
                 .name(asset.getName())
                 .assetType(asset.getAssetType())
                 .quantity(asset.getQuantity())
                 .avgBuyPrice(asset.getAvgBuyPrice())
                 .currentPrice(asset.getCurrentPrice())
-                .currentValue(scaleMoney(currentValue))
-                .investedValue(scaleMoney(investedValue))
+                .currentValue(FixedPoint.multiplyToMoney(asset.getQuantity(), asset.getCurrentPrice()))
+                .investedValue(FixedPoint.multiplyToMoney(asset.getQuantity(), asset.getAvgBuyPrice()))
+                .version(asset.getVersion())
                 .build();
     }
 
-    private void validateBusinessRules(AssetDTO request) {
+    void validateBusinessRules(AssetDTO request) {
         if (request.getCurrentPrice() != null && request.getCurrentPrice().compareTo(ZERO) < 0) {
             throw new IllegalArgumentException("Current price cannot be negative");
         }
@@ -104,8 +268,4 @@ public class AssetService {
             throw new IllegalArgumentException("Average buy price must be greater than zero");
         }
     }
-
-    private BigDecimal scaleMoney(BigDecimal value) {
-        return value.setScale(2, RoundingMode.HALF_UP);
-    }
 }
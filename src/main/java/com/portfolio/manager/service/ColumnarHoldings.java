@@ -0,0 +1,104 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Struct-of-arrays view of holdings: one primitive column per field, addressed by slot
+ * {@code 0..size()-1}. Quantities and prices are {@link FixedPoint} units; a missing current price is
+ * stored as {@link #NO_PRICE}.
+ */
+public abstract class ColumnarHoldings implements PortfolioReducer.Holdings {
+
+    public static final long NO_PRICE = -1L;
+
+    private static final AssetType[] TYPES = AssetType.values();
+
+    long[] ids;
+    long[] portfolioIds;
+    long[] quantities;
+    long[] avgBuyPrices;
+    long[] currentPrices;
+    byte[] types;
+    String[] symbols;
+    String[] names;
+    int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long id(int slot) {
+        return ids[slot];
+    }
+
+    public long portfolioId(int slot) {
+        return portfolioIds[slot];
+    }
+
+    public long quantity(int slot) {
+        return quantities[slot];
+    }
+
+    public long avgBuyPrice(int slot) {
+        return avgBuyPrices[slot];
+    }
+
+    /**
+     * Current price in cents, zero when the asset has no price.
+     */
+    public long currentPrice(int slot) {
+        return Math.max(0L, currentPrices[slot]);
+    }
+
+    public AssetType assetType(int slot) {
+        return TYPES[types[slot]];
+    }
+
+    @Override
+    public int typeOrdinal(int slot) {
+        return types[slot];
+    }
+
+    public String symbol(int slot) {
+        return symbols[slot];
+    }
+
+    public String name(int slot) {
+        return names[slot];
+    }
+
+    @Override
+    public long value(int slot) {
+        return FixedPoint.value(quantities[slot], currentPrice(slot));
+    }
+
+    @Override
+    public long investedValue(int slot) {
+        return FixedPoint.value(quantities[slot], avgBuyPrices[slot]);
+    }
+
+    public long gain(int slot) {
+        return Math.subtractExact(value(slot), investedValue(slot));
+    }
+
+    public AssetDTO toDto(int slot) {
+        return AssetDTO.builder()
+                .id(ids[slot])
+                .portfolioId(portfolioIds[slot])
+                .symbol(symbols[slot])
+                .name(names[slot])
+                .assetType(assetType(slot))
+                .quantity(BigDecimal.valueOf(quantities[slot], FixedPoint.QUANTITY_SCALE))
+                .avgBuyPrice(BigDecimal.valueOf(avgBuyPrices[slot], FixedPoint.PRICE_SCALE))
+                .currentPrice(currentPrices[slot] == NO_PRICE
+                        ? null
+                        : BigDecimal.valueOf(currentPrices[slot], FixedPoint.PRICE_SCALE))
+                .currentValue(FixedPoint.money(value(slot)))
+                .investedValue(FixedPoint.money(investedValue(slot)))
+                .build();
+    }
+}
@@ -2,12 +2,14 @@ package com.portfolio.manager.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.portfolio.manager.dto.AssetDTO;
@@ -15,97 +17,141 @@ import com.portfolio.manager.dto.PortfolioSummaryDTO;
 import com.portfolio.manager.model.Asset;
 import com.portfolio.manager.model.AssetType;
 import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.AssetTypeTotals;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Dashboard summaries. Each computation phase is timed as {@code portfolio.dashboard.phase}, tagged with the
+ * phase name: {@code aggregate} (in-memory summary), {@code portfolio} (per-portfolio cache lookup, including
+ * a miss), and for database summaries {@code totals}, {@code performers} and {@code assemble}.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DashboardService {
 
+    static final String PHASE_TIMER = "portfolio.dashboard.phase";
+
     private static final BigDecimal ZERO = BigDecimal.ZERO;
     private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
 
     private final AssetRepository assetRepository;
+    private final PortfolioAggregate portfolioAggregate;
+    private final PortfolioSummaryCache portfolioSummaryCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer aggregatePhase;
+    private final Timer portfolioPhase;
+    private final Timer totalsPhase;
+    private final Timer performersPhase;
+    private final Timer assemblePhase;
+
+    public DashboardService(AssetRepository assetRepository, PortfolioAggregate portfolioAggregate,
+                            PortfolioSummaryCache portfolioSummaryCache, MeterRegistry meterRegistry) {
+        this.assetRepository = assetRepository;
+        this.portfolioAggregate = portfolioAggregate;
+        this.portfolioSummaryCache = portfolioSummaryCache;
+        this.meterRegistry = meterRegistry;
+        this.aggregatePhase = phase(meterRegistry, "aggregate");
+        this.portfolioPhase = phase(meterRegistry, "portfolio");
+        this.totalsPhase = phase(meterRegistry, "totals");
+        this.performersPhase = phase(meterRegistry, "performers");
+        this.assemblePhase = phase(meterRegistry, "assemble");
+    }
 
+    /**
+     * Summary across all portfolios.
+     */
     public PortfolioSummaryDTO getPortfolioSummary() {
-        List<Asset> assets = assetRepository.findAll();
-        if (assets.isEmpty()) {
-            return PortfolioSummaryDTO.builder()
-                    .totalValue(ZERO)
-                    .allocationByType(Map.of())
-                    .assetCount(0)
-                    .build();
-        }
-
-        BigDecimal totalValue = assets.stream()
-                .map(this::currentValue)
-                .reduce(ZERO, BigDecimal::add);
+        return aggregatePhase.record(portfolioAggregate::summary).orElseGet(() -> summarize(
+                totalsPhase.record(assetRepository::sumValueByType),
+                () -> assetRepository.findIdsByGainDesc(Limit.of(1)),
+                () -> assetRepository.findIdsByGainAsc(Limit.of(1))));
+    }
 
-        Asset best = assets.stream()
-                .max(Comparator.comparing(this::gainValue))
-                .orElse(null);
-        Asset worst = assets.stream()
-                .min(Comparator.comparing(this::gainValue))
-                .orElse(null);
+    /**
+     * Summary of one portfolio, computed from that portfolio's rows only and cached until one of its
+     * assets or prices changes.
+     */
+    public PortfolioSummaryDTO getPortfolioSummary(long portfolioId) {
+        return portfolioPhase.record(() -> portfolioSummaryCache.get(portfolioId, id -> summarize(
+                totalsPhase.record(() -> assetRepository.sumValueByTypeInPortfolio(id)),
+                () -> assetRepository.findIdsByGainDescInPortfolio(id, Limit.of(1)),
+                () -> assetRepository.findIdsByGainAscInPortfolio(id, Limit.of(1)))));
+    }
 
-        Map<AssetType, BigDecimal> allocation = calculateAllocation(assets, totalValue);
+    /**
+     * Summary aggregated by the database: per-type sums plus the ids of the best and worst performer,
+     * so only a few rows leave the server. Ties on gain resolve to the highest id for the best performer and the
+     * lowest for the worst, so both queries read the gain index in one direction.
+     */
+    private PortfolioSummaryDTO summarize(List<AssetTypeTotals> totals, Supplier<List<Long>> bestIds,
+                                          Supplier<List<Long>> worstIds) {
+        if (totals.isEmpty()) {
+            return PortfolioValuation.emptySummary();
+        }
 
-        log.info("Calculated portfolio summary for {} assets", assets.size());
+        Timer.Sample performersSample = Timer.start(meterRegistry);
+        Long bestId = bestIds.get().get(0);
+        Long worstId = worstIds.get().get(0);
+        Map<Long, Asset> performers = assetRepository.findAllById(List.of(bestId, worstId)).stream()
+                .collect(Collectors.toMap(Asset::getId, Function.identity()));
+        performersSample.stop(performersPhase);
 
-        return PortfolioSummaryDTO.builder()
+        Timer.Sample assembleSample = Timer.start(meterRegistry);
+        BigDecimal totalValue = totals.stream()
+                .map(AssetTypeTotals::getTotalValue)
+                .reduce(ZERO, BigDecimal::add);
+        int assetCount = totals.stream()
+                .mapToInt(row -> row.getAssetCount().intValue())
+                .sum();
+        PortfolioSummaryDTO summary = PortfolioSummaryDTO.builder()
                 .totalValue(scaleMoney(totalValue))
-                .bestPerformer(toDto(best))
-                .worstPerformer(toDto(worst))
-                .allocationByType(allocation)
-                .assetCount(assets.size())
+                .bestPerformer(toDto(performers.get(bestId)))
+                .worstPerformer(toDto(performers.get(worstId)))
+                .allocationByType(calculateAllocation(totals, totalValue))
+                .assetCount(assetCount)
                 .build();
+        assembleSample.stop(assemblePhase);
+
+        log.debug("Calculated portfolio summary for {} assets", assetCount);
+        return summary;
+    }
+
+    private static Timer phase(MeterRegistry registry, String name) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Time spent in a dashboard summary phase")
+                .tag("phase", name)
+                .register(registry);
     }
 
-    private Map<AssetType, BigDecimal> calculateAllocation(List<Asset> assets, BigDecimal totalValue) {
+    Map<AssetType, BigDecimal> calculateAllocation(List<AssetTypeTotals> totals, BigDecimal totalValue) {
         Map<AssetType, BigDecimal> allocation = new EnumMap<>(AssetType.class);
-        for (Asset asset : assets) {
-            BigDecimal currentValue = currentValue(asset);
-            allocation.merge(asset.getAssetType(), currentValue, BigDecimal::add);
-        }
-        for (Map.Entry<AssetType, BigDecimal> entry : allocation.entrySet()) {
+        for (AssetTypeTotals row : totals) {
             BigDecimal percentage = totalValue.compareTo(ZERO) == 0
                     ? ZERO
-                    : entry.getValue().multiply(ONE_HUNDRED).divide(totalValue, 2, RoundingMode.HALF_UP);
-            entry.setValue(percentage);
+                    : row.getTotalValue().multiply(ONE_HUNDRED).divide(totalValue, 2, RoundingMode.HALF_UP);
+            allocation.put(row.getAssetType(), percentage);
         }
         return allocation;
     }
 
-    private BigDecimal currentValue(Asset asset) {
-        BigDecimal currentPrice = Objects.requireNonNullElse(asset.getCurrentPrice(), ZERO);
-        return asset.getQuantity().multiply(currentPrice);
-    }
-
-    private BigDecimal gainValue(Asset asset) {
-        BigDecimal currentValue = currentValue(asset);
-        BigDecimal investedValue = asset.getQuantity().multiply(asset.getAvgBuyPrice());
-        return currentValue.subtract(investedValue);
-    }
-
     private AssetDTO toDto(Asset asset) {
         if (asset == null) {
             return null;
         }
-        BigDecimal currentPrice = Objects.requireNonNullElse(asset.getCurrentPrice(), ZERO);
-        BigDecimal currentValue = asset.getQuantity().multiply(currentPrice);
-        BigDecimal investedValue = asset.getQuantity().multiply(asset.getAvgBuyPrice());
         return AssetDTO.builder()
                 .id(asset.getId())
+                .portfolioId(asset.getPortfolioId())
                 .symbol(asset.getSymbol())
                 .name(asset.getName())
                 .assetType(asset.getAssetType())
                 .quantity(asset.getQuantity())
                 .avgBuyPrice(asset.getAvgBuyPrice())
                 .currentPrice(asset.getCurrentPrice())
-                .currentValue(scaleMoney(currentValue))
-                .investedValue(scaleMoney(investedValue))
+                .currentValue(FixedPoint.multiplyToMoney(asset.getQuantity(), asset.getCurrentPrice()))
+                .investedValue(FixedPoint.multiplyToMoney(asset.getQuantity(), asset.getAvgBuyPrice()))
                 .build();
     }
 
@@ -0,0 +1,273 @@
+package com.portfolio.manager.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.portfolio.manager.config.DashboardProperties;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDeltaDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.model.AssetType;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes the portfolio summary to server-sent event subscribers. Each subscriber first receives a full
+ * {@code summary} event and then {@code delta} events with only the fields that changed. Asset and price
+ * changes mark the summary dirty; it is recomputed at most once per {@code portfolio.dashboard.push-interval}
+ * for all subscribers. Every subscriber holds at most one unsent summary: while a slow client is still
+ * being written to, newer summaries replace the pending one and the client later receives a single
+ * delta against what it last saw. A write that takes longer than {@code portfolio.dashboard.send-timeout}
+ * is interrupted and its subscriber dropped, so stalled clients cannot hold the push threads.
+ */
+@Service
+@Slf4j
+public class DashboardStreamService {
+
+    static final String SUMMARY_EVENT = "summary";
+    static final String DELTA_EVENT = "delta";
+
+    private final DashboardService dashboardService;
+    private final DashboardProperties properties;
+    private final Executor sender;
+    private final ScheduledExecutorService watchdog =
+            Executors.newSingleThreadScheduledExecutor(daemonThreads("dashboard-push-watchdog-"));
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @Autowired
+    public DashboardStreamService(DashboardService dashboardService, DashboardProperties properties) {
+        this(dashboardService, properties, Executors.newFixedThreadPool(properties.getPushThreads(),
+                daemonThreads("dashboard-push-")));
+    }
+
+    DashboardStreamService(DashboardService dashboardService, DashboardProperties properties, Executor sender) {
+        this.dashboardService = dashboardService;
+        this.properties = properties;
+        this.sender = sender;
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(properties.getStreamTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.offer(dashboardService.getPortfolioSummary());
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricesChanged(AssetPricesChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${portfolio.dashboard.push-interval:PT1S}")
+    public void publish() {
+        if (!dirty.getAndSet(false) || subscribers.isEmpty()) {
+            return;
+        }
+        PortfolioSummaryDTO summary = dashboardService.getPortfolioSummary();
+        subscribers.forEach(subscriber -> subscriber.offer(summary));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Fields of {@code current} that differ from {@code previous}, or {@code null} when nothing changed.
+     * Performers that disappear are omitted; an {@code assetCount} of zero signals an empty portfolio.
+     */
+    static PortfolioSummaryDeltaDTO delta(PortfolioSummaryDTO previous, PortfolioSummaryDTO current) {
+        Map<AssetType, BigDecimal> changed = new EnumMap<>(AssetType.class);
+        current.getAllocationByType().forEach((type, percentage) -> {
+            if (!sameAmount(previous.getAllocationByType().get(type), percentage)) {
+                changed.put(type, percentage);
+            }
+        });
+        Set<AssetType> removed = EnumSet.noneOf(AssetType.class);
+        for (AssetType type : previous.getAllocationByType().keySet()) {
+            if (!current.getAllocationByType().containsKey(type)) {
+                removed.add(type);
+            }
+        }
+
+        PortfolioSummaryDeltaDTO delta = PortfolioSummaryDeltaDTO.builder()
+                .totalValue(sameAmount(previous.getTotalValue(), current.getTotalValue())
+                        ? null
+                        : current.getTotalValue())
+                .bestPerformer(Objects.equals(previous.getBestPerformer(), current.getBestPerformer())
+                        ? null
+                        : current.getBestPerformer())
+                .worstPerformer(Objects.equals(previous.getWorstPerformer(), current.getWorstPerformer())
+                        ? null
+                        : current.getWorstPerformer())
+                .allocationByType(changed.isEmpty() ? null : changed)
+                .removedTypes(removed.isEmpty() ? null : removed)
+                .assetCount(previous.getAssetCount() == current.getAssetCount() ? null : current.getAssetCount())
+                .build();
+        return delta.equals(new PortfolioSummaryDeltaDTO()) ? null : delta;
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicReference<PortfolioSummaryDTO> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Only touched by the thread that currently holds the draining flag.
+        private PortfolioSummaryDTO lastSent;
+        // The thread blocked in a write, guarded by this subscriber; cleared by whichever of the writer and
+        // the watchdog gets there first, so an interrupt never outlives the write it was meant for.
+        private Thread writer;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(PortfolioSummaryDTO summary) {
+            pending.set(summary);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                PortfolioSummaryDTO next;
+                while ((next = pending.getAndSet(null)) != null) {
+                    send(next);
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An offer may have landed between the last poll and releasing the flag.
+            if (pending.get() != null) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(PortfolioSummaryDTO summary) {
+            try {
+                if (lastSent == null) {
+                    write(SseEmitter.event().name(SUMMARY_EVENT).data(summary));
+                } else {
+                    PortfolioSummaryDeltaDTO delta = delta(lastSent, summary);
+                    if (delta == null) {
+                        return;
+                    }
+                    write(SseEmitter.event().name(DELTA_EVENT).data(delta));
+                }
+                lastSent = summary;
+            } catch (IOException | IllegalStateException ex) {
+                drop(ex);
+            }
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                writer = Thread.currentThread();
+            }
+            ScheduledFuture<?> deadline = watchdog.schedule(this::timeOut,
+                    properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                emitter.send(event);
+            } finally {
+                deadline.cancel(false);
+                synchronized (this) {
+                    if (writer == null) {
+                        // The watchdog interrupted this write; don't leave the flag on a pooled thread.
+                        Thread.interrupted();
+                    }
+                    writer = null;
+                }
+            }
+        }
+
+        private void timeOut() {
+            synchronized (this) {
+                if (writer == null) {
+                    return;
+                }
+                writer.interrupt();
+                writer = null;
+            }
+            drop(new TimeoutException("Send exceeded " + properties.getSendTimeout()));
+        }
+
+        private void drop(Exception ex) {
+            if (!subscribers.remove(this)) {
+                return;
+            }
+            log.debug("Dropping dashboard subscriber: {}", ex.getMessage());
+            pending.set(null);
+            emitter.completeWithError(ex);
+        }
+    }
+}
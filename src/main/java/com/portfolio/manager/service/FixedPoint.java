@@ -0,0 +1,89 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Scaled-long arithmetic for valuations. Quantities are held in units of 10^-4 and prices in cents, as
+ * the {@code assets} columns are, so a value (quantity x price) is exact in units of 10^-6. Rounding
+ * to cents is HALF_UP, giving results identical to the equivalent {@link BigDecimal} expressions.
+ * Every operation throws {@link ArithmeticException} instead of overflowing.
+ */
+public final class FixedPoint {
+
+    public static final int QUANTITY_SCALE = 4;
+    public static final int PRICE_SCALE = 2;
+    public static final int VALUE_SCALE = QUANTITY_SCALE + PRICE_SCALE;
+    public static final int MONEY_SCALE = 2;
+
+    private static final long VALUE_UNITS_PER_CENT = 10_000L;
+    private static final long PERCENT_SCALE_FACTOR = 10_000L;
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    private FixedPoint() {
+    }
+
+    public static long quantityUnits(BigDecimal quantity) {
+        return units(quantity, QUANTITY_SCALE);
+    }
+
+    /**
+     * Price in cents; a missing price counts as zero.
+     */
+    public static long priceUnits(BigDecimal price) {
+        return price == null ? 0L : units(price, PRICE_SCALE);
+    }
+
+    public static long value(long quantityUnits, long priceUnits) {
+        return Math.multiplyExact(quantityUnits, priceUnits);
+    }
+
+    public static long toCents(long valueUnits) {
+        long cents = valueUnits / VALUE_UNITS_PER_CENT;
+        long remainder = Math.abs(valueUnits % VALUE_UNITS_PER_CENT);
+        if (remainder * 2 >= VALUE_UNITS_PER_CENT) {
+            cents += valueUnits < 0 ? -1 : 1;
+        }
+        return cents;
+    }
+
+    public static BigDecimal money(long valueUnits) {
+        return BigDecimal.valueOf(toCents(valueUnits), MONEY_SCALE);
+    }
+
+    /**
+     * {@code quantity * price} rounded HALF_UP to cents (a missing price counts as zero), computed in
+     * scaled longs when the operands fit and with {@link BigDecimal} otherwise.
+     */
+    public static BigDecimal multiplyToMoney(BigDecimal quantity, BigDecimal price) {
+        try {
+            return money(value(quantityUnits(quantity), priceUnits(price)));
+        } catch (ArithmeticException ex) {
+            BigDecimal product = quantity.multiply(price == null ? BigDecimal.ZERO : price);
+            return product.setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * {@code part * 100 / total} rounded HALF_UP to two decimals, for {@code part >= 0} and {@code total > 0}.
+     */
+    public static BigDecimal percentage(long partUnits, long totalUnits) {
+        long scaled;
+        try {
+            scaled = Math.multiplyExact(partUnits, PERCENT_SCALE_FACTOR);
+        } catch (ArithmeticException ex) {
+            return BigDecimal.valueOf(partUnits, VALUE_SCALE).multiply(ONE_HUNDRED)
+                    .divide(BigDecimal.valueOf(totalUnits, VALUE_SCALE), 2, RoundingMode.HALF_UP);
+        }
+        long quotient = scaled / totalUnits;
+        long remainder = scaled % totalUnits;
+        if (remainder >= totalUnits - remainder) {
+            quotient++;
+        }
+        return BigDecimal.valueOf(quotient, 2);
+    }
+
+    private static long units(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+}
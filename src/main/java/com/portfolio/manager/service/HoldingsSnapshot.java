@@ -0,0 +1,21 @@
+package com.portfolio.manager.service;
+
+import java.util.Arrays;
+
+/**
+ * Immutable point-in-time copy of the {@link HoldingsStore} columns for scans and analytics.
+ */
+public final class HoldingsSnapshot extends ColumnarHoldings {
+
+    HoldingsSnapshot(ColumnarHoldings source) {
+        this.size = source.size;
+        this.ids = Arrays.copyOf(source.ids, size);
+        this.portfolioIds = Arrays.copyOf(source.portfolioIds, size);
+        this.quantities = Arrays.copyOf(source.quantities, size);
+        this.avgBuyPrices = Arrays.copyOf(source.avgBuyPrices, size);
+        this.currentPrices = Arrays.copyOf(source.currentPrices, size);
+        this.types = Arrays.copyOf(source.types, size);
+        this.symbols = Arrays.copyOf(source.symbols, size);
+        this.names = Arrays.copyOf(source.names, size);
+    }
+}
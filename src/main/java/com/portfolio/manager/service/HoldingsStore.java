@@ -0,0 +1,115 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.portfolio.manager.model.Asset;
+
+/**
+ * Mutable columnar copy of the assets table. Rows are located by id through a primitive hash index
+ * and deleted by moving the last row into the freed slot, so every column stays dense. Symbols are
+ * interned per store. Not thread-safe; {@link PortfolioAggregate} guards it.
+ */
+public final class HoldingsStore extends ColumnarHoldings {
+
+    public static final int NO_SLOT = LongIntHashMap.MISSING;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final LongIntHashMap slotsById = new LongIntHashMap(INITIAL_CAPACITY);
+    private final Map<String, String> symbolPool = new HashMap<>();
+
+    public HoldingsStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Slot holding {@code id}, or {@link #NO_SLOT}.
+     */
+    public int slotOf(long id) {
+        return slotsById.get(id);
+    }
+
+    /**
+     * Inserts or replaces the row for the asset and returns its slot. Values that do not fit the
+     * fixed-point columns raise {@link ArithmeticException} before anything is modified.
+     */
+    public int upsert(Asset asset) {
+        long portfolioId = asset.getPortfolioId();
+        long quantity = FixedPoint.quantityUnits(asset.getQuantity());
+        long avgBuyPrice = FixedPoint.priceUnits(asset.getAvgBuyPrice());
+        long currentPrice = priceOrMissing(asset.getCurrentPrice());
+        int slot = slotsById.get(asset.getId());
+        if (slot == NO_SLOT) {
+            if (size == ids.length) {
+                allocate(size + (size >> 1));
+            }
+            slot = size++;
+            ids[slot] = asset.getId();
+            portfolioIds[slot] = portfolioId;
+            slotsById.put(asset.getId(), slot);
+        }
+        quantities[slot] = quantity;
+        avgBuyPrices[slot] = avgBuyPrice;
+        currentPrices[slot] = currentPrice;
+        types[slot] = (byte) asset.getAssetType().ordinal();
+        symbols[slot] = symbolPool.computeIfAbsent(asset.getSymbol(), symbol -> symbol);
+        names[slot] = asset.getName();
+        return slot;
+    }
+
+    public void setCurrentPrice(int slot, BigDecimal price) {
+        currentPrices[slot] = priceOrMissing(price);
+    }
+
+    public void remove(long id) {
+        int slot = slotsById.get(id);
+        if (slot == NO_SLOT) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            portfolioIds[slot] = portfolioIds[last];
+            quantities[slot] = quantities[last];
+            avgBuyPrices[slot] = avgBuyPrices[last];
+            currentPrices[slot] = currentPrices[last];
+            types[slot] = types[last];
+            symbols[slot] = symbols[last];
+            names[slot] = names[last];
+            slotsById.put(ids[slot], slot);
+        }
+        symbols[last] = null;
+        names[last] = null;
+        slotsById.remove(id);
+    }
+
+    public void clear() {
+        Arrays.fill(symbols, 0, size, null);
+        Arrays.fill(names, 0, size, null);
+        size = 0;
+        slotsById.clear();
+        symbolPool.clear();
+    }
+
+    public HoldingsSnapshot snapshot() {
+        return new HoldingsSnapshot(this);
+    }
+
+    private static long priceOrMissing(BigDecimal price) {
+        return price == null ? NO_PRICE : FixedPoint.priceUnits(price);
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+        portfolioIds = portfolioIds == null ? new long[capacity] : Arrays.copyOf(portfolioIds, capacity);
+        quantities = quantities == null ? new long[capacity] : Arrays.copyOf(quantities, capacity);
+        avgBuyPrices = avgBuyPrices == null ? new long[capacity] : Arrays.copyOf(avgBuyPrices, capacity);
+        currentPrices = currentPrices == null ? new long[capacity] : Arrays.copyOf(currentPrices, capacity);
+        types = types == null ? new byte[capacity] : Arrays.copyOf(types, capacity);
+        symbols = symbols == null ? new String[capacity] : Arrays.copyOf(symbols, capacity);
+        names = names == null ? new String[capacity] : Arrays.copyOf(names, capacity);
+    }
+}
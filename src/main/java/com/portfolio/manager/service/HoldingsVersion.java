@@ -0,0 +1,55 @@
+package com.portfolio.manager.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+
+/**
+ * Version of the holdings, bumped after every committed asset or price change. Its listeners run last, after
+ * the aggregate and the asset cache have applied the change, so a version read before computing a response
+ * never labels older data than it describes. The ETag also carries the start time, so versions from before a
+ * restart never match.
+ */
+@Component
+public class HoldingsVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Strong entity tag of the current version, quoted.
+     */
+    public String etag() {
+        return etag(null);
+    }
+
+    /**
+     * Entity tag of one representation of the current version, such as a binary encoding; {@code null} for the
+     * default one.
+     */
+    public String etag(String variant) {
+        return "\"" + epoch + "-" + version.get() + (variant == null ? "" : "-" + variant) + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onAssetChanged(AssetChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onPricesChanged(AssetPricesChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
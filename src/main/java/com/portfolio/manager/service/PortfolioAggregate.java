@@ -0,0 +1,260 @@
+package com.portfolio.manager.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.repository.AssetRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory portfolio state kept in step with the assets table. Loaded page by page when the
+ * application is ready and then maintained from {@link AssetChangedEvent}s and
+ * {@link AssetPricesChangedEvent}s. Rows live in a columnar {@link HoldingsStore} that reporting reads
+ * through {@link #snapshot()}; per-type sums are updated in O(1) and the gain ordering used for
+ * best/worst performer in O(log n) per change, so the dashboard is served without a table scan.
+ * Values are {@link FixedPoint} longs; if they ever leave that range the aggregate stops answering and
+ * callers fall back to the table. While it is disabled it is rebuilt every
+ * {@code portfolio.aggregate.retry-interval}, and the {@value #DISABLED_METRIC} gauge reads 1.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioAggregate implements MeterBinder {
+
+    /**
+     * Order of the change listeners: ahead of other listeners of the same events, which may read the aggregate.
+     */
+    public static final int LISTENER_ORDER = 0;
+
+    static final String DISABLED_METRIC = "portfolio.aggregate.disabled";
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final AssetRepository assetRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final HoldingsStore store = new HoldingsStore();
+    private final NavigableSet<GainKey> byGain = new TreeSet<>();
+    private final long[] valueByType = new long[PortfolioValuation.TYPES.length];
+    private final int[] countByType = new int[PortfolioValuation.TYPES.length];
+    private long totalValue;
+    // Written under the write lock; volatile for the gauge and the retry check.
+    private volatile boolean overflowed;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            store.clear();
+            byGain.clear();
+            Arrays.fill(valueByType, 0L);
+            Arrays.fill(countByType, 0);
+            totalValue = 0;
+            overflowed = false;
+            long lastId = 0;
+            List<Asset> page;
+            do {
+                page = assetRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_PAGE_SIZE));
+                for (Asset asset : page) {
+                    upsert(asset);
+                    lastId = asset.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE && !overflowed);
+            ready = true;
+            if (!overflowed) {
+                log.info("Portfolio aggregate loaded with {} assets", store.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the aggregate if it was disabled, so it recovers once the values fit again.
+     */
+    @Scheduled(fixedDelayString = "${portfolio.aggregate.retry-interval:PT5M}",
+            initialDelayString = "${portfolio.aggregate.retry-interval:PT5M}")
+    public void retryIfDisabled() {
+        if (ready && overflowed) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(DISABLED_METRIC, this, aggregate -> aggregate.overflowed ? 1 : 0)
+                .description("1 while the portfolio aggregate is disabled and reads fall back to the table")
+                .register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(LISTENER_ORDER)
+    public void onAssetChanged(AssetChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeleted()) {
+                delete(event.assetId());
+            } else {
+                upsert(event.asset());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(LISTENER_ORDER)
+    public void onPricesChanged(AssetPricesChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (PriceChange change : event.changes()) {
+                int slot = store.slotOf(change.assetId());
+                if (slot != HoldingsStore.NO_SLOT && !overflowed) {
+                    try {
+                        untrack(slot);
+                        store.setCurrentPrice(slot, change.currentPrice());
+                        track(slot);
+                    } catch (ArithmeticException ex) {
+                        disable();
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the current summary, or empty while the aggregate has not been loaded or cannot represent
+     * the portfolio.
+     */
+    public Optional<PortfolioSummaryDTO> summary() {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (overflowed) {
+                return Optional.empty();
+            }
+            if (store.size() == 0) {
+                return Optional.of(PortfolioValuation.emptySummary());
+            }
+            return Optional.of(PortfolioSummaryDTO.builder()
+                    .totalValue(FixedPoint.money(totalValue))
+                    .bestPerformer(store.toDto(store.slotOf(bestPerformer().id())))
+                    .worstPerformer(store.toDto(store.slotOf(byGain.first().id())))
+                    .allocationByType(PortfolioValuation.allocation(valueByType, countByType, totalValue))
+                    .assetCount(store.size())
+                    .build());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a consistent copy of all holdings, or empty while the aggregate is not usable.
+     */
+    public Optional<HoldingsSnapshot> snapshot() {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return overflowed ? Optional.empty() : Optional.of(store.snapshot());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(Asset asset) {
+        if (overflowed) {
+            return;
+        }
+        try {
+            int slot = store.slotOf(asset.getId());
+            if (slot != HoldingsStore.NO_SLOT) {
+                untrack(slot);
+            }
+            track(store.upsert(asset));
+        } catch (ArithmeticException ex) {
+            disable();
+        }
+    }
+
+    private void delete(long id) {
+        int slot = store.slotOf(id);
+        if (slot == HoldingsStore.NO_SLOT || overflowed) {
+            return;
+        }
+        untrack(slot);
+        store.remove(id);
+    }
+
+    private void track(int slot) {
+        long value = store.value(slot);
+        int type = store.typeOrdinal(slot);
+        GainKey key = new GainKey(store.gain(slot), store.id(slot));
+        long newTotal = Math.addExact(totalValue, value);
+        valueByType[type] = Math.addExact(valueByType[type], value);
+        totalValue = newTotal;
+        countByType[type]++;
+        byGain.add(key);
+    }
+
+    private void untrack(int slot) {
+        long value = store.value(slot);
+        int type = store.typeOrdinal(slot);
+        valueByType[type] -= value;
+        countByType[type]--;
+        totalValue -= value;
+        byGain.remove(new GainKey(store.gain(slot), store.id(slot)));
+    }
+
+    private void disable() {
+        log.warn("Portfolio aggregate disabled until a rebuild succeeds: values exceed the fixed-point range");
+        overflowed = true;
+    }
+
+    // Ties on gain resolve to the highest id, as the database query that scans the gain index backwards does.
+    private GainKey bestPerformer() {
+        return byGain.last();
+    }
+
+    private record GainKey(long gain, long id) implements Comparable<GainKey> {
+
+        @Override
+        public int compareTo(GainKey other) {
+            int byGain = Long.compare(gain, other.gain);
+            return byGain != 0 ? byGain : Long.compare(id, other.id);
+        }
+    }
+}
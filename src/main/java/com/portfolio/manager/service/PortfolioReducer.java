@@ -0,0 +1,121 @@
+package com.portfolio.manager.service;
+
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Component;
+
+import com.portfolio.manager.config.ScenarioProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Computes total value, per-type sums and best/worst performer in one traversal. Index ranges are
+ * reduced into {@link Partial}s that merge in encounter order, so the parallel result is identical to
+ * a sequential pass, including ties on gain resolving to the lowest index as {@code Stream.max/min} do.
+ * Values are {@link FixedPoint} units and overflow raises {@link ArithmeticException}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PortfolioReducer {
+
+    private final ScenarioProperties properties;
+
+    public Partial reduce(Holdings holdings) {
+        IntStream indexes = IntStream.range(0, holdings.size());
+        if (holdings.size() >= properties.getParallelThreshold()) {
+            indexes = indexes.parallel();
+        }
+        return indexes.collect(Partial::new, (partial, index) -> partial.add(holdings, index), Partial::merge);
+    }
+
+    /**
+     * Indexed holdings in fixed-point units.
+     */
+    public interface Holdings {
+
+        int size();
+
+        long value(int index);
+
+        long investedValue(int index);
+
+        int typeOrdinal(int index);
+    }
+
+    /**
+     * Mergeable accumulator over a contiguous index range. Best and worst are {@code -1} while empty.
+     */
+    public static final class Partial {
+
+        private final long[] valueByType = new long[PortfolioValuation.TYPES.length];
+        private final int[] countByType = new int[PortfolioValuation.TYPES.length];
+        private long totalValue;
+        private int count;
+        private int bestIndex = -1;
+        private int worstIndex = -1;
+        private long bestGain;
+        private long worstGain;
+
+        void add(Holdings holdings, int index) {
+            long value = holdings.value(index);
+            long gain = Math.subtractExact(value, holdings.investedValue(index));
+            int type = holdings.typeOrdinal(index);
+            totalValue = Math.addExact(totalValue, value);
+            valueByType[type] = Math.addExact(valueByType[type], value);
+            countByType[type]++;
+            count++;
+            if (bestIndex < 0 || gain > bestGain) {
+                bestIndex = index;
+                bestGain = gain;
+            }
+            if (worstIndex < 0 || gain < worstGain) {
+                worstIndex = index;
+                worstGain = gain;
+            }
+        }
+
+        /**
+         * Folds in a partial covering the range that follows this one.
+         */
+        void merge(Partial next) {
+            totalValue = Math.addExact(totalValue, next.totalValue);
+            for (int type = 0; type < valueByType.length; type++) {
+                valueByType[type] = Math.addExact(valueByType[type], next.valueByType[type]);
+                countByType[type] += next.countByType[type];
+            }
+            count += next.count;
+            if (next.bestIndex >= 0 && (bestIndex < 0 || next.bestGain > bestGain)) {
+                bestIndex = next.bestIndex;
+                bestGain = next.bestGain;
+            }
+            if (next.worstIndex >= 0 && (worstIndex < 0 || next.worstGain < worstGain)) {
+                worstIndex = next.worstIndex;
+                worstGain = next.worstGain;
+            }
+        }
+
+        public long totalValue() {
+            return totalValue;
+        }
+
+        public long[] valueByType() {
+            return valueByType;
+        }
+
+        public int[] countByType() {
+            return countByType;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int bestIndex() {
+            return bestIndex;
+        }
+
+        public int worstIndex() {
+            return worstIndex;
+        }
+    }
+}
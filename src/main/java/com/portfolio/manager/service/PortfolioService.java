@@ -0,0 +1,109 @@
+package com.portfolio.manager.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.manager.dto.AssetPageDTO;
+import com.portfolio.manager.dto.PortfolioDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.dto.RebalancePlanDTO;
+import com.portfolio.manager.dto.RebalanceTargetsDTO;
+import com.portfolio.manager.dto.RiskQueryDTO;
+import com.portfolio.manager.dto.RiskReportDTO;
+import com.portfolio.manager.dto.ScenarioReportDTO;
+import com.portfolio.manager.dto.ScenarioRequestDTO;
+import com.portfolio.manager.dto.ValuationHistoryDTO;
+import com.portfolio.manager.model.HistoryResolution;
+import com.portfolio.manager.exception.ResourceNotFoundException;
+import com.portfolio.manager.model.Portfolio;
+import com.portfolio.manager.repository.PortfolioRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioService {
+
+    private final PortfolioRepository portfolioRepository;
+    private final AssetService assetService;
+    private final DashboardService dashboardService;
+    private final ValuationHistory valuationHistory;
+    private final RiskService riskService;
+    private final ScenarioService scenarioService;
+    private final RebalanceService rebalanceService;
+
+    public List<PortfolioDTO> getPortfolios() {
+        return portfolioRepository.findAll(Sort.by("id")).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    public PortfolioDTO createPortfolio(PortfolioDTO request) {
+        String name = request.getName().trim();
+        if (portfolioRepository.existsByName(name)) {
+            throw new IllegalArgumentException("Portfolio name already exists");
+        }
+        Portfolio saved = portfolioRepository.save(Portfolio.builder().name(name).build());
+        log.info("Portfolio created: {}", saved.getId());
+        return toDto(saved);
+    }
+
+    public AssetPageDTO getAssetPage(long portfolioId, long afterId, int limit) {
+        requireExists(portfolioId);
+        return assetService.getPortfolioAssetPage(portfolioId, afterId, limit);
+    }
+
+    public PortfolioSummaryDTO getSummary(long portfolioId) {
+        requireExists(portfolioId);
+        return dashboardService.getPortfolioSummary(portfolioId);
+    }
+
+    public ValuationHistoryDTO getHistory(long portfolioId, HistoryResolution resolution, Instant from, Instant to) {
+        requireExists(portfolioId);
+        return valuationHistory.getPortfolioHistory(portfolioId, resolution, from, to);
+    }
+
+    public RiskReportDTO getRisk(long portfolioId, RiskQueryDTO query) {
+        requireExists(portfolioId);
+        return riskService.getPortfolioRisk(portfolioId, query);
+    }
+
+    public ScenarioReportDTO runScenarios(long portfolioId, ScenarioRequestDTO request) {
+        requireExists(portfolioId);
+        return scenarioService.runPortfolioScenarios(portfolioId, request);
+    }
+
+    public RebalancePlanDTO setRebalanceTargets(long portfolioId, RebalanceTargetsDTO targets) {
+        requireExists(portfolioId);
+        return rebalanceService.setTargets(portfolioId, targets);
+    }
+
+    public RebalancePlanDTO getRebalancePlan(long portfolioId) {
+        requireExists(portfolioId);
+        return rebalanceService.getPlan(portfolioId);
+    }
+
+    public void clearRebalanceTargets(long portfolioId) {
+        requireExists(portfolioId);
+        rebalanceService.clearTargets(portfolioId);
+    }
+
+    private void requireExists(long portfolioId) {
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new ResourceNotFoundException("Portfolio not found");
+        }
+    }
+
+    private PortfolioDTO toDto(Portfolio portfolio) {
+        return PortfolioDTO.builder()
+                .id(portfolio.getId())
+                .name(portfolio.getName())
+                .build();
+    }
+}
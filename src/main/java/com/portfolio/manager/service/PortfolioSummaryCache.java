@@ -0,0 +1,83 @@
+package com.portfolio.manager.service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongFunction;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.portfolio.manager.config.CacheProperties;
+import com.portfolio.manager.dto.CacheStatsDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+
+/**
+ * Caches dashboard summaries per portfolio and drops only the portfolios touched by a change. Each
+ * summary is computed on the requesting thread outside the cache's locks, so a slow computation for a
+ * large portfolio never delays lookups or loads of other portfolios; concurrent requests for the same
+ * portfolio wait for the one computation in flight.
+ */
+@Component
+public class PortfolioSummaryCache {
+
+    private final AsyncCache<Long, PortfolioSummaryDTO> summaries;
+
+    public PortfolioSummaryCache(CacheProperties properties) {
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxPortfolioSummaries())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    public PortfolioSummaryDTO get(long portfolioId, LongFunction<PortfolioSummaryDTO> loader) {
+        CompletableFuture<PortfolioSummaryDTO> loading = new CompletableFuture<>();
+        CompletableFuture<PortfolioSummaryDTO> cached = summaries.get(portfolioId, (id, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.apply(portfolioId));
+            } catch (RuntimeException ex) {
+                loading.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        summaries.synchronous().invalidate(event.portfolioId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPricesChanged(AssetPricesChangedEvent event) {
+        Set<Long> portfolioIds = new HashSet<>();
+        for (PriceChange change : event.changes()) {
+            portfolioIds.add(change.portfolioId());
+        }
+        summaries.synchronous().invalidateAll(portfolioIds);
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = summaries.synchronous().stats();
+        return CacheStatsDTO.builder()
+                .size(summaries.synchronous().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
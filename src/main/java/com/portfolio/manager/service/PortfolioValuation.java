@@ -0,0 +1,58 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.model.AssetType;
+
+/**
+ * Summary pieces shared by the fixed-point dashboard computations. Per-type arrays are indexed by
+ * {@link AssetType#ordinal()} and hold values in {@link FixedPoint#VALUE_SCALE} units.
+ */
+final class PortfolioValuation {
+
+    static final AssetType[] TYPES = AssetType.values();
+
+    private PortfolioValuation() {
+    }
+
+    static PortfolioSummaryDTO emptySummary() {
+        return PortfolioSummaryDTO.builder()
+                .totalValue(BigDecimal.ZERO)
+                .allocationByType(Map.of())
+                .assetCount(0)
+                .build();
+    }
+
+    /**
+     * Summary for a non-empty reduction, with performers resolved from their indexes.
+     */
+    static PortfolioSummaryDTO summary(PortfolioReducer.Partial partial, IntFunction<AssetDTO> holding) {
+        return PortfolioSummaryDTO.builder()
+                .totalValue(FixedPoint.money(partial.totalValue()))
+                .bestPerformer(holding.apply(partial.bestIndex()))
+                .worstPerformer(holding.apply(partial.worstIndex()))
+                .allocationByType(allocation(partial.valueByType(), partial.countByType(), partial.totalValue()))
+                .assetCount(partial.count())
+                .build();
+    }
+
+    /**
+     * Percentage of the total held in each type that has at least one asset.
+     */
+    static Map<AssetType, BigDecimal> allocation(long[] valueByType, int[] countByType, long totalValue) {
+        Map<AssetType, BigDecimal> allocation = new EnumMap<>(AssetType.class);
+        for (AssetType type : TYPES) {
+            if (countByType[type.ordinal()] > 0) {
+                allocation.put(type, totalValue == 0
+                        ? BigDecimal.ZERO
+                        : FixedPoint.percentage(valueByType[type.ordinal()], totalValue));
+            }
+        }
+        return allocation;
+    }
+}
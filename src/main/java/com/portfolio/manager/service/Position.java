@@ -0,0 +1,52 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.TransactionType;
+
+/**
+ * Quantity and average buy price of a holding. Buys move the average to the quantity-weighted mean of the
+ * old average and the purchase price; sells reduce the quantity at an unchanged average.
+ */
+record Position(BigDecimal quantity, BigDecimal avgBuyPrice) {
+
+    static final Position EMPTY = new Position(BigDecimal.ZERO.setScale(FixedPoint.QUANTITY_SCALE),
+            BigDecimal.ZERO.setScale(FixedPoint.PRICE_SCALE));
+
+    private static final int MAX_QUANTITY_DIGITS = 11;
+
+    static Position of(Asset asset) {
+        return new Position(asset.getQuantity(), asset.getAvgBuyPrice());
+    }
+
+    Position apply(TransactionType type, BigDecimal amount, BigDecimal price) {
+        return switch (type) {
+            case BUY -> {
+                BigDecimal total = checkedQuantity(quantity.add(amount));
+                BigDecimal cost = quantity.multiply(avgBuyPrice).add(amount.multiply(price));
+                yield new Position(total, cost.divide(total, FixedPoint.PRICE_SCALE, RoundingMode.HALF_UP));
+            }
+            case SELL -> {
+                if (amount.compareTo(quantity) > 0) {
+                    throw new IllegalArgumentException("Cannot sell more than the held quantity of " + quantity);
+                }
+                yield new Position(quantity.subtract(amount).setScale(FixedPoint.QUANTITY_SCALE), avgBuyPrice);
+            }
+            case ADJUST -> new Position(checkedQuantity(amount), price.setScale(FixedPoint.PRICE_SCALE));
+        };
+    }
+
+    boolean sameAs(BigDecimal otherQuantity, BigDecimal otherAvgBuyPrice) {
+        return quantity.compareTo(otherQuantity) == 0 && avgBuyPrice.compareTo(otherAvgBuyPrice) == 0;
+    }
+
+    private static BigDecimal checkedQuantity(BigDecimal quantity) {
+        BigDecimal scaled = quantity.setScale(FixedPoint.QUANTITY_SCALE);
+        if (scaled.precision() - scaled.scale() > MAX_QUANTITY_DIGITS) {
+            throw new IllegalArgumentException("Quantity must have up to 11 digits and 4 decimals");
+        }
+        return scaled;
+    }
+}
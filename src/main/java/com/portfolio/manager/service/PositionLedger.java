@@ -0,0 +1,142 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.portfolio.manager.config.LedgerProperties;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetTransaction;
+import com.portfolio.manager.model.PositionSnapshot;
+import com.portfolio.manager.model.TransactionType;
+import com.portfolio.manager.repository.AssetTransactionRepository;
+import com.portfolio.manager.repository.PositionSnapshotRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Append-only ledger behind asset positions. Every change of an asset's quantity or average buy price is
+ * recorded as an {@link AssetTransaction} and applied to the asset incrementally, so the asset row always holds
+ * the fold of its entries. Every {@code portfolio.ledger.snapshot-interval} entries the position is
+ * checkpointed, and {@link #replay(long)} reads only the latest snapshot and the entries after it.
+ * Callers hold the asset row for the duration of their transaction and save it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class PositionLedger {
+
+    private static final int REPLAY_PAGE_SIZE = 1000;
+
+    private final AssetTransactionRepository transactionRepository;
+    private final PositionSnapshotRepository snapshotRepository;
+    private final LedgerProperties properties;
+
+    /**
+     * Appends a transaction and applies it to {@code asset}. A position that predates the ledger is first
+     * recorded as an opening {@link TransactionType#ADJUST} so replays start from it.
+     *
+     * @throws IllegalArgumentException if the transaction cannot be applied, e.g. selling more than is held
+     */
+    public AssetTransaction append(Asset asset, TransactionType type, BigDecimal quantity, BigDecimal price) {
+        Position current = Position.of(asset);
+        Position next = current.apply(type, quantity, price);
+        if (asset.getLedgerSequence() == 0 && type != TransactionType.ADJUST) {
+            write(asset, TransactionType.ADJUST, current.quantity(), current.avgBuyPrice(), current);
+        }
+        return write(asset, type, quantity, price, next);
+    }
+
+    /**
+     * Gives a new asset its opening position before it is inserted, so the INSERT already carries the ledger
+     * state and no UPDATE follows. Once the asset has an id, {@link #recordOpening} writes the matching entry.
+     */
+    public void open(Asset asset, BigDecimal quantity, BigDecimal avgBuyPrice) {
+        Position opening = Position.EMPTY.apply(TransactionType.ADJUST, quantity, avgBuyPrice);
+        asset.setQuantity(opening.quantity());
+        asset.setAvgBuyPrice(opening.avgBuyPrice());
+        asset.setLedgerSequence(1);
+    }
+
+    /**
+     * Writes the opening {@link TransactionType#ADJUST} of an asset prepared by {@link #open}, leaving the
+     * asset itself untouched.
+     */
+    public void recordOpening(Asset asset) {
+        record(asset.getId(), 1, TransactionType.ADJUST, asset.getQuantity(), asset.getAvgBuyPrice(),
+                Position.of(asset));
+    }
+
+    /**
+     * Moves {@code asset} to the given position through an {@link TransactionType#ADJUST} entry, unless the
+     * ledger already ends in that position.
+     */
+    public void adjust(Asset asset, BigDecimal quantity, BigDecimal avgBuyPrice) {
+        if (changes(asset, quantity, avgBuyPrice)) {
+            append(asset, TransactionType.ADJUST, quantity, avgBuyPrice);
+        }
+    }
+
+    /**
+     * Whether {@link #adjust} would append an entry for the given position.
+     */
+    public boolean changes(Asset asset, BigDecimal quantity, BigDecimal avgBuyPrice) {
+        return asset.getLedgerSequence() == 0 || !Position.of(asset).sameAs(quantity, avgBuyPrice);
+    }
+
+    public List<AssetTransaction> entries(long assetId, long afterSequence, Limit limit) {
+        return transactionRepository.findByAssetIdAndSequenceGreaterThanOrderBySequenceAsc(
+                assetId, afterSequence, limit);
+    }
+
+    /**
+     * Rebuilds the position of an asset from its latest snapshot and the entries recorded after it.
+     */
+    Position replay(long assetId) {
+        PositionSnapshot snapshot = snapshotRepository.findById(assetId).orElse(null);
+        Position position = snapshot == null
+                ? Position.EMPTY
+                : new Position(snapshot.getQuantity(), snapshot.getAvgBuyPrice());
+        long lastSequence = snapshot == null ? 0 : snapshot.getSequence();
+        List<AssetTransaction> page;
+        do {
+            page = entries(assetId, lastSequence, Limit.of(REPLAY_PAGE_SIZE));
+            for (AssetTransaction entry : page) {
+                position = position.apply(entry.getType(), entry.getQuantity(), entry.getPrice());
+                lastSequence = entry.getSequence();
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        return position;
+    }
+
+    private AssetTransaction write(Asset asset, TransactionType type, BigDecimal quantity, BigDecimal price,
+                                   Position next) {
+        long sequence = asset.getLedgerSequence() + 1;
+        AssetTransaction entry = record(asset.getId(), sequence, type, quantity, price, next);
+        asset.setQuantity(next.quantity());
+        asset.setAvgBuyPrice(next.avgBuyPrice());
+        asset.setLedgerSequence(sequence);
+        return entry;
+    }
+
+    private AssetTransaction record(long assetId, long sequence, TransactionType type, BigDecimal quantity,
+                                    BigDecimal price, Position next) {
+        AssetTransaction entry = transactionRepository.save(AssetTransaction.builder()
+                .assetId(assetId)
+                .sequence(sequence)
+                .type(type)
+                .quantity(quantity)
+                .price(price)
+                .build());
+        if (sequence % properties.getSnapshotInterval() == 0) {
+            snapshotRepository.save(PositionSnapshot.builder()
+                    .assetId(assetId)
+                    .sequence(sequence)
+                    .quantity(next.quantity())
+                    .avgBuyPrice(next.avgBuyPrice())
+                    .build());
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,21 @@
+package com.portfolio.manager.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@ConditionalOnProperty(prefix = "portfolio.prices", name = "schedule-enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PriceRefreshScheduler {
+
+    private final PriceUpdateService priceUpdateService;
+
+    @Scheduled(fixedDelayString = "${portfolio.prices.refresh-interval:PT1M}",
+            initialDelayString = "${portfolio.prices.refresh-interval:PT1M}")
+    public void refresh() {
+        priceUpdateService.refreshPrices();
+    }
+}
@@ -0,0 +1,25 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Supplies current market prices. Implementations are selected with {@code portfolio.prices.source}.
+ */
+public interface PriceSource {
+
+    /**
+     * Returns the latest price for each requested symbol it knows about. Symbols without a quote are
+     * simply absent from the result.
+     */
+    Map<String, BigDecimal> fetchQuotes(Collection<String> symbols);
+
+    /**
+     * Same as {@link #fetchQuotes(Collection)}, given the price currently stored for each symbol ({@code null}
+     * when it has none) for sources that continue from it.
+     */
+    default Map<String, BigDecimal> fetchQuotes(Map<String, BigDecimal> storedPrices) {
+        return fetchQuotes(storedPrices.keySet());
+    }
+}
@@ -1,15 +1,215 @@
 package com.portfolio.manager.service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.portfolio.manager.config.PriceRefreshProperties;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.event.PricesRefreshedEvent;
+import com.portfolio.manager.model.AssetType;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Refreshes {@code current_price} for every asset. Rows are read in id order one batch at a time, each
+ * distinct symbol is quoted at most once per run, and changed prices are written back with a single
+ * JDBC batch per page, so memory stays bounded by the batch size plus the number of distinct symbols.
+ * Quote chunks of a page are fetched concurrently, at most {@code portfolio.prices.fetch-concurrency} at a
+ * time, on virtual threads when {@code spring.threads.virtual.enabled} is set on Java 21 and on a small
+ * platform thread pool otherwise, so a blocking price source never holds up request threads.
+ */
 @Service
 @Slf4j
 public class PriceUpdateService {
 
+    private static final String SELECT_PAGE_SQL =
+            "SELECT id, portfolio_id, symbol, asset_type, current_price FROM assets WHERE id > ? ORDER BY id LIMIT ?";
+    // Leaves the version alone, so refreshes never conflict with concurrent edits.
+    private static final String UPDATE_PRICE_SQL =
+            "UPDATE assets SET current_price = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceSource priceSource;
+    private final PriceRefreshProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor fetchExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public PriceUpdateService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              PriceSource priceSource, PriceRefreshProperties properties,
+                              ApplicationEventPublisher eventPublisher, Environment environment) {
+        this(jdbcTemplate, transactionTemplate, priceSource, properties, eventPublisher,
+                Threading.VIRTUAL.isActive(environment)
+                        ? new VirtualThreadTaskExecutor("price-fetch-")
+                        : Executors.newFixedThreadPool(properties.getFetchConcurrency(), daemonThreads()));
+    }
+
+    PriceUpdateService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, PriceSource priceSource,
+                       PriceRefreshProperties properties, ApplicationEventPublisher eventPublisher,
+                       Executor fetchExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.priceSource = priceSource;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.fetchExecutor = fetchExecutor;
+    }
+
     public String refreshPrices() {
-        log.info("Price refresh triggered (placeholder integration)");
-        return "Price refresh triggered";
+        if (!running.compareAndSet(false, true)) {
+            log.info("Price refresh skipped, another refresh is in progress");
+            return "Price refresh already in progress";
+        }
+        try {
+            long started = System.nanoTime();
+            RefreshResult result = refreshAll();
+            eventPublisher.publishEvent(new PricesRefreshedEvent(Instant.now()));
+            log.info("Price refresh finished: {} of {} assets updated, {} symbols quoted in {} ms",
+                    result.updated, result.scanned, result.quoted, (System.nanoTime() - started) / 1_000_000);
+            return "Price refresh completed: " + result.updated + " of " + result.scanned + " assets updated";
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RefreshResult refreshAll() {
+        RefreshResult result = new RefreshResult();
+        Map<String, BigDecimal> quotes = new HashMap<>();
+        long lastId = 0;
+        while (true) {
+            List<PriceRow> page = jdbcTemplate.query(SELECT_PAGE_SQL, (rs, rowNum) -> new PriceRow(
+                    rs.getLong("id"),
+                    rs.getLong("portfolio_id"),
+                    rs.getString("symbol"),
+                    AssetType.valueOf(rs.getString("asset_type")),
+                    rs.getBigDecimal("current_price")), lastId, properties.getBatchSize());
+            if (page.isEmpty()) {
+                return result;
+            }
+            result.quoted += fetchMissingQuotes(page, quotes);
+            List<PriceChange> changes = new ArrayList<>();
+            for (PriceRow row : page) {
+                BigDecimal quote = quotes.get(row.symbol());
+                if (quote != null && (row.currentPrice() == null || quote.compareTo(row.currentPrice()) != 0)) {
+                    changes.add(new PriceChange(row.id(), row.portfolioId(), row.assetType(), quote));
+                }
+            }
+            if (!changes.isEmpty()) {
+                writeChanges(changes);
+            }
+            result.scanned += page.size();
+            result.updated += changes.size();
+            lastId = page.get(page.size() - 1).id();
+        }
+    }
+
+    private int fetchMissingQuotes(List<PriceRow> page, Map<String, BigDecimal> quotes) {
+        // Symbols to quote with the price stored for their first asset, which sources may continue from.
+        Map<String, BigDecimal> missing = new LinkedHashMap<>();
+        for (PriceRow row : page) {
+            if (!quotes.containsKey(row.symbol()) && !missing.containsKey(row.symbol())) {
+                missing.put(row.symbol(), row.currentPrice());
+            }
+        }
+        List<String> symbols = new ArrayList<>(missing.keySet());
+        List<Map<String, BigDecimal>> chunks = new ArrayList<>();
+        List<CompletableFuture<Map<String, BigDecimal>>> fetches = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(properties.getFetchConcurrency());
+        for (int from = 0; from < symbols.size(); from += properties.getQuoteBatchSize()) {
+            int to = Math.min(symbols.size(), from + properties.getQuoteBatchSize());
+            Map<String, BigDecimal> chunk = new LinkedHashMap<>();
+            for (String symbol : symbols.subList(from, to)) {
+                chunk.put(symbol, missing.get(symbol));
+            }
+            inFlight.acquireUninterruptibly();
+            chunks.add(chunk);
+            fetches.add(CompletableFuture.supplyAsync(() -> priceSource.fetchQuotes(chunk), fetchExecutor)
+                    .whenComplete((fetched, ex) -> inFlight.release()));
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            Map<String, BigDecimal> fetched = join(fetches.get(i));
+            for (String symbol : chunks.get(i).keySet()) {
+                BigDecimal quote = fetched.get(symbol);
+                // Remember unquoted symbols too so they are not requested again for later pages.
+                quotes.put(symbol, quote == null ? null : quote.setScale(2, RoundingMode.HALF_UP));
+            }
+        }
+        return missing.size();
+    }
+
+    private static Map<String, BigDecimal> join(CompletableFuture<Map<String, BigDecimal>> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void writeChanges(List<PriceChange> changes) {
+        List<Object[]> batchArgs = new ArrayList<>(changes.size());
+        for (PriceChange change : changes) {
+            batchArgs.add(new Object[] {change.currentPrice(), change.assetId()});
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_PRICE_SQL, batchArgs);
+            eventPublisher.publishEvent(new AssetPricesChangedEvent(changes));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fetchExecutor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "price-fetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record PriceRow(long id, long portfolioId, String symbol, AssetType assetType, BigDecimal currentPrice) {
+    }
+
+    private static class RefreshResult {
+        private int scanned;
+        private int updated;
+        private int quoted;
     }
 }
@@ -0,0 +1,382 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import com.portfolio.manager.dto.RebalancePlanDTO;
+import com.portfolio.manager.dto.RebalanceTargetsDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.TransactionType;
+
+/**
+ * Holdings of one portfolio grouped into rebalancing buckets: one per asset type plus one per symbol with
+ * its own weight. Bucket values are {@link FixedPoint} value units updated in O(1) per asset or price change,
+ * so they never drift, and a plan costs a pass over the buckets plus the assets of the buckets that trade.
+ * Plans work in doubles from there. Not thread-safe; callers hold {@link #lock()}.
+ * <p>
+ * Types and symbols outside their band are traded to its nearest edge, which is the least they must move.
+ * Whatever that leaves unbalanced between buys and sells is taken from, or given to, the buckets furthest
+ * from their target, first up to the target and then up to the band edge, so no cash is needed or left over.
+ */
+final class RebalanceBook {
+
+    static final BigDecimal DEFAULT_TOLERANCE = new BigDecimal("5");
+
+    private static final AssetType[] TYPES = AssetType.values();
+    private static final double HUNDRED = 100.0;
+    private static final double VALUE_UNITS = Math.pow(10, FixedPoint.VALUE_SCALE);
+    private static final double MIN_TRADE = 0.005;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Lock lock = new ReentrantLock();
+    private final double[] typeWeights = new double[TYPES.length];
+    private final Map<String, Integer> symbolBuckets = new HashMap<>();
+    private final String[] bucketSymbols;
+    private final double[] symbolWeights;
+    private final double tolerance;
+
+    private final LongIntHashMap slotsById = new LongIntHashMap(INITIAL_CAPACITY);
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] symbols = new String[INITIAL_CAPACITY];
+    private int[] types = new int[INITIAL_CAPACITY];
+    private int[] buckets = new int[INITIAL_CAPACITY];
+    private long[] quantities = new long[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private int size;
+
+    private final long[] bucketValues;
+    private final int[] pricedCounts;
+    // Type of the assets in each symbol bucket, -1 until one is held.
+    private final int[] symbolTypes;
+    private long totalValue;
+
+    /**
+     * @throws IllegalArgumentException if the weights do not describe a whole portfolio
+     */
+    RebalanceBook(RebalanceTargetsDTO targets) {
+        double typeSum = 0;
+        for (Map.Entry<AssetType, BigDecimal> entry : targets.getTypeWeights().entrySet()) {
+            typeWeights[entry.getKey().ordinal()] = entry.getValue().doubleValue() / HUNDRED;
+            typeSum += entry.getValue().doubleValue();
+        }
+        if (Math.abs(typeSum - HUNDRED) > 0.01) {
+            throw new IllegalArgumentException("Type weights must add up to 100");
+        }
+        Map<String, BigDecimal> pinned = Objects.requireNonNullElse(targets.getSymbolWeights(), Map.of());
+        bucketSymbols = new String[pinned.size()];
+        symbolWeights = new double[pinned.size()];
+        double symbolSum = 0;
+        for (Map.Entry<String, BigDecimal> entry : pinned.entrySet()) {
+            if (entry.getKey() == null || entry.getKey().isBlank()) {
+                throw new IllegalArgumentException("Symbol weights need a symbol");
+            }
+            int index = symbolBuckets.size();
+            symbolBuckets.put(entry.getKey().trim(), TYPES.length + index);
+            bucketSymbols[index] = entry.getKey().trim();
+            symbolWeights[index] = entry.getValue().doubleValue() / HUNDRED;
+            symbolSum += entry.getValue().doubleValue();
+        }
+        if (symbolSum > HUNDRED + 0.01) {
+            throw new IllegalArgumentException("Symbol weights must not add up to more than 100");
+        }
+        tolerance = Objects.requireNonNullElse(targets.getTolerance(), DEFAULT_TOLERANCE).doubleValue() / HUNDRED;
+        bucketValues = new long[TYPES.length + pinned.size()];
+        pricedCounts = new int[bucketValues.length];
+        symbolTypes = new int[pinned.size()];
+        Arrays.fill(symbolTypes, -1);
+    }
+
+    Lock lock() {
+        return lock;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void upsert(Asset asset) {
+        put(asset.getId(), asset.getSymbol(), asset.getAssetType().ordinal(),
+                FixedPoint.quantityUnits(asset.getQuantity()), FixedPoint.priceUnits(asset.getCurrentPrice()));
+    }
+
+    /**
+     * Adds or replaces an asset. Quantities are {@link FixedPoint} units, prices cents (zero when unpriced).
+     */
+    void put(long id, String symbol, int type, long quantity, long price) {
+        int slot = slotsById.get(id);
+        if (slot == LongIntHashMap.MISSING) {
+            if (size == ids.length) {
+                grow();
+            }
+            slot = size++;
+            ids[slot] = id;
+            slotsById.put(id, slot);
+        } else {
+            untrack(slot);
+        }
+        symbols[slot] = symbol;
+        types[slot] = type;
+        buckets[slot] = symbolBuckets.getOrDefault(symbol, type);
+        quantities[slot] = quantity;
+        prices[slot] = price;
+        track(slot);
+    }
+
+    void setPrice(long id, BigDecimal price) {
+        int slot = slotsById.get(id);
+        if (slot != LongIntHashMap.MISSING) {
+            untrack(slot);
+            prices[slot] = FixedPoint.priceUnits(price);
+            track(slot);
+        }
+    }
+
+    void remove(long id) {
+        int slot = slotsById.get(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return;
+        }
+        untrack(slot);
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            symbols[slot] = symbols[last];
+            types[slot] = types[last];
+            buckets[slot] = buckets[last];
+            quantities[slot] = quantities[last];
+            prices[slot] = prices[last];
+            slotsById.put(ids[slot], slot);
+        }
+        symbols[last] = null;
+        slotsById.remove(id);
+    }
+
+    RebalancePlanDTO plan(long portfolioId) {
+        int count = bucketValues.length;
+        double total = totalValue / VALUE_UNITS;
+        double[] values = new double[count];
+        for (int bucket = 0; bucket < count; bucket++) {
+            values[bucket] = bucketValues[bucket] / VALUE_UNITS;
+        }
+        double[] targets = new double[count];
+        double[] reserved = new double[TYPES.length];
+        for (int index = 0; index < symbolWeights.length; index++) {
+            targets[TYPES.length + index] = symbolWeights[index] * total;
+            if (symbolTypes[index] >= 0) {
+                reserved[symbolTypes[index]] += symbolWeights[index];
+            }
+        }
+        for (int type = 0; type < TYPES.length; type++) {
+            targets[type] = Math.max(0, typeWeights[type] - reserved[type]) * total;
+        }
+        double band = tolerance * total;
+        double[] low = new double[count];
+        double[] high = new double[count];
+        double[] deltas = new double[count];
+        boolean[] reachable = new boolean[count];
+        double net = 0;
+        boolean withinTolerance = true;
+        for (int bucket = 0; bucket < count; bucket++) {
+            low[bucket] = Math.max(0, targets[bucket] - band);
+            high[bucket] = targets[bucket] + band;
+            reachable[bucket] = pricedCounts[bucket] > 0;
+            if (!reachable[bucket]) {
+                continue;
+            }
+            if (values[bucket] > high[bucket]) {
+                deltas[bucket] = high[bucket] - values[bucket];
+            } else if (values[bucket] < low[bucket]) {
+                deltas[bucket] = low[bucket] - values[bucket];
+            }
+            withinTolerance &= deltas[bucket] == 0;
+            net += deltas[bucket];
+        }
+        if (net > 0) {
+            // More to buy than to sell: sell the overweight rest, toward the target and then the low edge.
+            net = absorb(net, -1, values, targets, deltas, reachable);
+            net = absorb(net, -1, values, low, deltas, reachable);
+            scale(deltas, 1, net);
+        } else if (net < 0) {
+            net = -absorb(-net, 1, values, targets, deltas, reachable);
+            net = -absorb(-net, 1, values, high, deltas, reachable);
+            scale(deltas, -1, -net);
+        }
+
+        List<RebalancePlanDTO.Trade> trades = new ArrayList<>();
+        for (int bucket = 0; bucket < count; bucket++) {
+            if (Math.abs(deltas[bucket]) >= MIN_TRADE) {
+                addTrades(bucket, deltas[bucket], trades);
+            }
+        }
+        trades.sort(Comparator.comparing(RebalancePlanDTO.Trade::getAssetId));
+        BigDecimal turnover = trades.stream()
+                .filter(trade -> trade.getSide() == TransactionType.BUY)
+                .map(RebalancePlanDTO.Trade::getValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return RebalancePlanDTO.builder()
+                .portfolioId(portfolioId)
+                .totalValue(FixedPoint.money(totalValue))
+                .withinTolerance(withinTolerance)
+                .turnover(turnover)
+                .allocations(allocations(targets, deltas, reachable))
+                .trades(trades)
+                .build();
+    }
+
+    /**
+     * Moves up to {@code amount} into buckets ({@code direction} 1) or out of them (-1), each no further
+     * than {@code limits}, largest room first. Returns what could not be placed.
+     */
+    private static double absorb(double amount, int direction, double[] values, double[] limits, double[] deltas,
+                                 boolean[] reachable) {
+        double[] room = new double[deltas.length];
+        for (int bucket = 0; bucket < deltas.length; bucket++) {
+            double after = values[bucket] + deltas[bucket];
+            room[bucket] = reachable[bucket] ? Math.max(0, direction * (limits[bucket] - after)) : 0;
+        }
+        int[] order = IntStream.range(0, deltas.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer bucket) -> room[bucket]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        for (int bucket : order) {
+            if (amount <= 0 || room[bucket] <= 0) {
+                break;
+            }
+            double moved = Math.min(amount, room[bucket]);
+            deltas[bucket] += direction * moved;
+            amount -= moved;
+        }
+        return amount;
+    }
+
+    // Shrinks the trades on one side by the amount nothing on the other side could take.
+    private static void scale(double[] deltas, int sign, double excess) {
+        if (excess <= 0) {
+            return;
+        }
+        double side = 0;
+        for (double delta : deltas) {
+            side += Math.max(0, sign * delta);
+        }
+        double factor = side == 0 ? 0 : Math.max(0, (side - excess) / side);
+        for (int bucket = 0; bucket < deltas.length; bucket++) {
+            if (sign * deltas[bucket] > 0) {
+                deltas[bucket] *= factor;
+            }
+        }
+    }
+
+    /**
+     * Splits a bucket's trade over its priced assets in proportion to their value, or evenly if the bucket
+     * holds no value yet. Quantities are rounded down, so sells never exceed the position.
+     */
+    private void addTrades(int bucket, double delta, List<RebalancePlanDTO.Trade> trades) {
+        long bucketValue = bucketValues[bucket];
+        int priced = pricedCounts[bucket];
+        for (int slot = 0; slot < size; slot++) {
+            if (buckets[slot] != bucket || prices[slot] == 0) {
+                continue;
+            }
+            double share = bucketValue > 0 ? (double) value(slot) / bucketValue : 1.0 / priced;
+            BigDecimal price = BigDecimal.valueOf(prices[slot], FixedPoint.PRICE_SCALE);
+            BigDecimal quantity = BigDecimal.valueOf(Math.abs(delta) * share)
+                    .divide(price, FixedPoint.QUANTITY_SCALE, RoundingMode.DOWN);
+            if (delta < 0) {
+                quantity = quantity.min(BigDecimal.valueOf(quantities[slot], FixedPoint.QUANTITY_SCALE));
+            }
+            if (quantity.signum() == 0) {
+                continue;
+            }
+            trades.add(RebalancePlanDTO.Trade.builder()
+                    .assetId(ids[slot])
+                    .symbol(symbols[slot])
+                    .assetType(TYPES[types[slot]])
+                    .side(delta > 0 ? TransactionType.BUY : TransactionType.SELL)
+                    .quantity(quantity)
+                    .price(price)
+                    .value(quantity.multiply(price).setScale(FixedPoint.MONEY_SCALE, RoundingMode.HALF_UP))
+                    .build());
+        }
+    }
+
+    private List<RebalancePlanDTO.Allocation> allocations(double[] targets, double[] deltas, boolean[] reachable) {
+        List<RebalancePlanDTO.Allocation> allocations = new ArrayList<>();
+        double total = totalValue / VALUE_UNITS;
+        for (int bucket = 0; bucket < bucketValues.length; bucket++) {
+            boolean symbol = bucket >= TYPES.length;
+            if (!symbol && targets[bucket] == 0 && bucketValues[bucket] == 0 && typeWeights[bucket] == 0) {
+                continue;
+            }
+            int type = symbol ? symbolTypes[bucket - TYPES.length] : bucket;
+            allocations.add(RebalancePlanDTO.Allocation.builder()
+                    .assetType(type >= 0 ? TYPES[type] : null)
+                    .symbol(symbol ? bucketSymbols[bucket - TYPES.length] : null)
+                    .currentWeight(weight(bucketValues[bucket]))
+                    .targetWeight(percent(targets[bucket], total))
+                    .tradeValue(money(Math.abs(deltas[bucket]) >= MIN_TRADE ? deltas[bucket] : 0))
+                    .reachable(reachable[bucket])
+                    .build());
+        }
+        return allocations;
+    }
+
+    private void track(int slot) {
+        int bucket = buckets[slot];
+        long value = value(slot);
+        bucketValues[bucket] = Math.addExact(bucketValues[bucket], value);
+        totalValue = Math.addExact(totalValue, value);
+        if (prices[slot] > 0) {
+            pricedCounts[bucket]++;
+        }
+        if (bucket >= TYPES.length) {
+            symbolTypes[bucket - TYPES.length] = types[slot];
+        }
+    }
+
+    private void untrack(int slot) {
+        int bucket = buckets[slot];
+        long value = value(slot);
+        bucketValues[bucket] -= value;
+        totalValue -= value;
+        if (prices[slot] > 0) {
+            pricedCounts[bucket]--;
+        }
+    }
+
+    private long value(int slot) {
+        return FixedPoint.value(quantities[slot], prices[slot]);
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        symbols = Arrays.copyOf(symbols, capacity);
+        types = Arrays.copyOf(types, capacity);
+        buckets = Arrays.copyOf(buckets, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+    }
+
+    private BigDecimal weight(long value) {
+        return totalValue == 0 ? BigDecimal.ZERO.setScale(2) : FixedPoint.percentage(value, totalValue);
+    }
+
+    private static BigDecimal percent(double value, double total) {
+        return BigDecimal.valueOf(total == 0 ? 0 : value * HUNDRED / total).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(FixedPoint.MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,141 @@
+package com.portfolio.manager.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.portfolio.manager.dto.RebalancePlanDTO;
+import com.portfolio.manager.dto.RebalanceTargetsDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.exception.ResourceNotFoundException;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.repository.AssetRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Target allocations per portfolio and the trades that restore them. Setting targets loads the portfolio's
+ * holdings into a {@link RebalanceBook}, which then follows asset and price changes, so a plan after a price
+ * tick does not rescan the portfolio. Targets are kept in memory and have to be set again after a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RebalanceService {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final PortfolioAggregate portfolioAggregate;
+    private final AssetRepository assetRepository;
+    private final Map<Long, RebalanceBook> books = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the portfolio's targets and returns the plan for them.
+     *
+     * @throws IllegalArgumentException if the weights do not describe a whole portfolio
+     */
+    public RebalancePlanDTO setTargets(long portfolioId, RebalanceTargetsDTO targets) {
+        RebalanceBook book = new RebalanceBook(targets);
+        // Registered before loading: changes published meanwhile wait for the lock and are applied on top.
+        book.lock().lock();
+        try {
+            books.put(portfolioId, book);
+            load(portfolioId, book);
+            log.info("Rebalancing targets set for portfolio {} with {} assets", portfolioId, book.size());
+            return book.plan(portfolioId);
+        } finally {
+            book.lock().unlock();
+        }
+    }
+
+    public RebalancePlanDTO getPlan(long portfolioId) {
+        RebalanceBook book = books.get(portfolioId);
+        if (book == null) {
+            throw new ResourceNotFoundException("No rebalancing targets for portfolio");
+        }
+        book.lock().lock();
+        try {
+            return book.plan(portfolioId);
+        } finally {
+            book.lock().unlock();
+        }
+    }
+
+    public void clearTargets(long portfolioId) {
+        if (books.remove(portfolioId) == null) {
+            throw new ResourceNotFoundException("No rebalancing targets for portfolio");
+        }
+    }
+
+    // Ordered after the aggregate, so a change missing from a snapshot taken in setTargets still reaches the book.
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PortfolioAggregate.LISTENER_ORDER + 1)
+    public void onAssetChanged(AssetChangedEvent event) {
+        RebalanceBook book = books.get(event.portfolioId());
+        if (book == null) {
+            return;
+        }
+        book.lock().lock();
+        try {
+            if (event.isDeleted()) {
+                book.remove(event.assetId());
+            } else {
+                book.upsert(event.asset());
+            }
+        } finally {
+            book.lock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PortfolioAggregate.LISTENER_ORDER + 1)
+    public void onPricesChanged(AssetPricesChangedEvent event) {
+        for (PriceChange change : event.changes()) {
+            RebalanceBook book = books.get(change.portfolioId());
+            if (book != null) {
+                book.lock().lock();
+                try {
+                    book.setPrice(change.assetId(), change.currentPrice());
+                } finally {
+                    book.lock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the book from the in-memory aggregate or, while it is unavailable, from the table page by page.
+     */
+    private void load(long portfolioId, RebalanceBook book) {
+        Optional<HoldingsSnapshot> snapshot = portfolioAggregate.snapshot();
+        if (snapshot.isPresent()) {
+            HoldingsSnapshot holdings = snapshot.get();
+            for (int slot = 0; slot < holdings.size(); slot++) {
+                if (holdings.portfolioId(slot) == portfolioId) {
+                    book.put(holdings.id(slot), holdings.symbol(slot), holdings.typeOrdinal(slot),
+                            holdings.quantity(slot), holdings.currentPrice(slot));
+                }
+            }
+            return;
+        }
+        long lastId = 0;
+        List<Asset> page;
+        do {
+            page = assetRepository.findByPortfolioIdAndIdGreaterThanOrderByIdAsc(portfolioId, lastId,
+                    Limit.of(LOAD_PAGE_SIZE));
+            for (Asset asset : page) {
+                book.upsert(asset);
+                lastId = asset.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+    }
+}
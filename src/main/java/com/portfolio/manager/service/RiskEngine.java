@@ -0,0 +1,186 @@
+package com.portfolio.manager.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Component;
+
+import com.portfolio.manager.config.RiskProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Value-at-Risk from daily profit and loss per asset type: historical, from the observed days, and Monte
+ * Carlo, from correlated normal draws with the observed covariance. Positions are linear, so the
+ * covariance of the per-type series carries everything the per-asset covariance would and each path only
+ * needs one draw per type, whatever the number of assets. Paths are split into fixed-size tasks on the
+ * common fork-join pool, each with its own {@link SplittableRandom} split off the seeded root in task order,
+ * so a seed always gives the same result. Losses are reported as positive amounts.
+ */
+@Component
+@RequiredArgsConstructor
+public class RiskEngine {
+
+    private final RiskProperties properties;
+
+    /**
+     * @param pnlByType daily profit and loss of the current holdings, indexed by type ordinal and then by day
+     */
+    public Result evaluate(double[][] pnlByType, double confidence, int horizonDays, int paths, long seed) {
+        int types = pnlByType.length;
+        int days = pnlByType[0].length;
+        double tail = 1 - confidence;
+        double scale = Math.sqrt(horizonDays);
+
+        double[] totals = new double[days];
+        for (double[] series : pnlByType) {
+            for (int day = 0; day < days; day++) {
+                totals[day] += series[day];
+            }
+        }
+        double[] sortedTotals = totals.clone();
+        Arrays.sort(sortedTotals);
+        double historicalVar = -sortedTotals[tailIndex(tail, days)] * scale;
+
+        double[][] covariance = covariance(pnlByType);
+        double totalVariance = 0;
+        for (double[] row : covariance) {
+            for (double cell : row) {
+                totalVariance += cell;
+            }
+        }
+
+        double[] pathTotals = new double[paths];
+        double[] pathByType = new double[paths * types];
+        simulate(cholesky(covariance), scale, seed, pathTotals, pathByType);
+        double[] sortedPaths = pathTotals.clone();
+        Arrays.sort(sortedPaths);
+        double threshold = sortedPaths[tailIndex(tail, paths)];
+
+        // Expected shortfall and its split by type: the mean loss over the paths at or beyond the VaR.
+        double[] shortfallByType = new double[types];
+        double shortfall = 0;
+        int tailPaths = 0;
+        for (int path = 0; path < paths; path++) {
+            if (pathTotals[path] <= threshold) {
+                shortfall -= pathTotals[path];
+                for (int type = 0; type < types; type++) {
+                    shortfallByType[type] -= pathByType[path * types + type];
+                }
+                tailPaths++;
+            }
+        }
+        for (int type = 0; type < types; type++) {
+            shortfallByType[type] /= tailPaths;
+        }
+        return new Result(historicalVar, -threshold, shortfall / tailPaths, Math.sqrt(totalVariance),
+                shortfallByType);
+    }
+
+    /**
+     * @param historicalVar loss not exceeded on the observed days at the confidence level, scaled to the horizon
+     * @param monteCarloVar the same over the simulated paths
+     * @param expectedShortfall mean simulated loss beyond {@code monteCarloVar}
+     * @param dailyVolatility standard deviation of the daily profit and loss
+     * @param shortfallByType each type's part of {@code expectedShortfall}, indexed by type ordinal
+     */
+    public record Result(double historicalVar, double monteCarloVar, double expectedShortfall,
+                         double dailyVolatility, double[] shortfallByType) {
+    }
+
+    private void simulate(double[][] cholesky, double scale, long seed, double[] totals, double[] byType) {
+        int types = cholesky.length;
+        int paths = totals.length;
+        int pathsPerTask = properties.getPathsPerTask();
+        int tasks = (paths + pathsPerTask - 1) / pathsPerTask;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[tasks];
+        for (int task = 0; task < tasks; task++) {
+            randoms[task] = root.split();
+        }
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            SplittableRandom random = randoms[task];
+            double[] draws = new double[types];
+            int end = Math.min(paths, (task + 1) * pathsPerTask);
+            for (int path = task * pathsPerTask; path < end; path++) {
+                for (int type = 0; type < types; type++) {
+                    draws[type] = random.nextGaussian();
+                }
+                double total = 0;
+                for (int row = 0; row < types; row++) {
+                    double pnl = 0;
+                    for (int column = 0; column <= row; column++) {
+                        pnl += cholesky[row][column] * draws[column];
+                    }
+                    pnl *= scale;
+                    byType[path * types + row] = pnl;
+                    total += pnl;
+                }
+                totals[path] = total;
+            }
+        });
+    }
+
+    static double[][] covariance(double[][] series) {
+        int types = series.length;
+        int days = series[0].length;
+        double[][] centered = new double[types][];
+        for (int type = 0; type < types; type++) {
+            double mean = 0;
+            for (double value : series[type]) {
+                mean += value;
+            }
+            mean /= days;
+            centered[type] = new double[days];
+            for (int day = 0; day < days; day++) {
+                centered[type][day] = series[type][day] - mean;
+            }
+        }
+        double[][] covariance = new double[types][types];
+        for (int a = 0; a < types; a++) {
+            for (int b = 0; b <= a; b++) {
+                double sum = 0;
+                for (int day = 0; day < days; day++) {
+                    sum += centered[a][day] * centered[b][day];
+                }
+                covariance[a][b] = sum / (days - 1);
+                covariance[b][a] = covariance[a][b];
+            }
+        }
+        return covariance;
+    }
+
+    /**
+     * Lower-triangular factor of a covariance matrix. Types without variance, such as types not held, get a
+     * zero row and column instead of failing the decomposition.
+     */
+    static double[][] cholesky(double[][] covariance) {
+        int size = covariance.length;
+        double largest = 0;
+        for (int i = 0; i < size; i++) {
+            largest = Math.max(largest, covariance[i][i]);
+        }
+        double epsilon = largest * 1e-12;
+        double[][] factor = new double[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column <= row; column++) {
+                double sum = covariance[row][column];
+                for (int k = 0; k < column; k++) {
+                    sum -= factor[row][k] * factor[column][k];
+                }
+                if (row == column) {
+                    factor[row][row] = sum > epsilon ? Math.sqrt(sum) : 0;
+                } else {
+                    factor[row][column] = factor[column][column] > 0 ? sum / factor[column][column] : 0;
+                }
+            }
+        }
+        return factor;
+    }
+
+    // Position in ascending order of the smallest outcome that leaves a tail share of the outcomes at or below it.
+    private static int tailIndex(double tail, int count) {
+        return Math.max(0, (int) Math.ceil(tail * count - 1e-9) - 1);
+    }
+}
@@ -0,0 +1,243 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.manager.config.RiskProperties;
+import com.portfolio.manager.dto.RiskQueryDTO;
+import com.portfolio.manager.dto.RiskReportDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.HistoryResolution;
+import com.portfolio.manager.repository.AssetRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Risk of the current holdings over their recorded daily prices. Each asset's daily returns are applied to
+ * its current value and summed per type, so the figures describe today's positions rather than past
+ * portfolio values. Returns come from the asset's closing prices per unit, so trades on a day do not count as
+ * returns. Days on which no asset has a return are left out.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RiskService {
+
+    static final double DEFAULT_CONFIDENCE = 0.99;
+    static final int MIN_OBSERVATIONS = 2;
+
+    private static final int TRADING_DAYS = 252;
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final double VALUE_UNITS = Math.pow(10, FixedPoint.VALUE_SCALE);
+    private static final AssetType[] TYPES = AssetType.values();
+
+    private final PortfolioAggregate portfolioAggregate;
+    private final AssetRepository assetRepository;
+    private final ValuationHistory valuationHistory;
+    private final RiskEngine riskEngine;
+    private final RiskProperties properties;
+
+    /**
+     * Risk across all portfolios.
+     */
+    public RiskReportDTO getRisk(RiskQueryDTO query) {
+        return assess(exposures(portfolioId -> true,
+                lastId -> assetRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_PAGE_SIZE))), query);
+    }
+
+    public RiskReportDTO getPortfolioRisk(long portfolioId, RiskQueryDTO query) {
+        return assess(exposures(id -> id == portfolioId, lastId -> assetRepository
+                .findByPortfolioIdAndIdGreaterThanOrderByIdAsc(portfolioId, lastId, Limit.of(LOAD_PAGE_SIZE))), query);
+    }
+
+    private RiskReportDTO assess(Exposures exposures, RiskQueryDTO query) {
+        double confidence = Objects.requireNonNullElse(query.getConfidence(), DEFAULT_CONFIDENCE);
+        int horizonDays = Objects.requireNonNullElse(query.getHorizonDays(), 1);
+        int paths = Objects.requireNonNullElse(query.getPaths(), properties.getPaths());
+        long seed = Optional.ofNullable(query.getSeed()).orElseGet(() -> ThreadLocalRandom.current().nextLong());
+        RiskReportDTO.RiskReportDTOBuilder report = RiskReportDTO.builder()
+                .totalValue(money(exposures.totalValue()))
+                .confidence(confidence)
+                .horizonDays(horizonDays)
+                .paths(paths)
+                .seed(seed);
+        if (exposures.size() == 0) {
+            return report.historicalVar(money(0))
+                    .monteCarloVar(money(0))
+                    .expectedShortfall(money(0))
+                    .dailyVolatility(percent(0))
+                    .annualizedVolatility(percent(0))
+                    .riskContributionByType(Map.of())
+                    .build();
+        }
+
+        double[][] pnlByType = dailyPnl(exposures);
+        int observations = pnlByType[0].length;
+        if (observations < MIN_OBSERVATIONS) {
+            throw new IllegalArgumentException("Not enough price history: " + observations
+                    + " daily returns, at least " + MIN_OBSERVATIONS + " needed");
+        }
+        RiskEngine.Result result = riskEngine.evaluate(pnlByType, confidence, horizonDays, paths, seed);
+        double dailyVolatility = exposures.totalValue() == 0 ? 0 : result.dailyVolatility() / exposures.totalValue();
+        Map<AssetType, BigDecimal> contributions = new EnumMap<>(AssetType.class);
+        for (AssetType type : TYPES) {
+            if (exposures.held(type)) {
+                contributions.put(type, money(result.shortfallByType()[type.ordinal()]));
+            }
+        }
+        log.debug("Assessed risk of {} assets over {} days and {} paths", exposures.size(), observations, paths);
+        return report.observations(observations)
+                .historicalVar(money(result.historicalVar()))
+                .monteCarloVar(money(result.monteCarloVar()))
+                .expectedShortfall(money(result.expectedShortfall()))
+                .dailyVolatility(percent(dailyVolatility))
+                .annualizedVolatility(percent(dailyVolatility * Math.sqrt(TRADING_DAYS)))
+                .riskContributionByType(contributions)
+                .build();
+    }
+
+    /**
+     * Profit and loss of the current positions on each observed day, per type.
+     */
+    private double[][] dailyPnl(Exposures exposures) {
+        int lookback = properties.getLookbackDays();
+        long daySeconds = HistoryResolution.DAY.bucketSeconds();
+        long firstDay = HistoryResolution.DAY.bucketStart(Instant.now().getEpochSecond()) - lookback * daySeconds;
+        double[][] pnl = new double[TYPES.length][lookback];
+        boolean[] observed = new boolean[lookback];
+        for (int i = 0; i < exposures.size(); i++) {
+            long[] closes = valuationHistory.getAssetDailyPrices(exposures.ids()[i], firstDay, lookback + 1);
+            double[] series = pnl[exposures.types()[i]];
+            double value = exposures.values()[i];
+            for (int day = 0; day < lookback; day++) {
+                if (closes[day] > 0 && closes[day + 1] > 0) {
+                    series[day] += value * ((double) closes[day + 1] / closes[day] - 1);
+                    observed[day] = true;
+                }
+            }
+        }
+        int observations = 0;
+        for (boolean day : observed) {
+            observations += day ? 1 : 0;
+        }
+        double[][] compact = new double[TYPES.length][observations];
+        for (int type = 0; type < TYPES.length; type++) {
+            for (int day = 0, next = 0; day < lookback; day++) {
+                if (observed[day]) {
+                    compact[type][next++] = pnl[type][day];
+                }
+            }
+        }
+        return compact;
+    }
+
+    /**
+     * Current values of the matching holdings, from the in-memory aggregate or, while it is unavailable,
+     * from the table page by page.
+     */
+    private Exposures exposures(LongPredicate portfolio, LongFunction<List<Asset>> pageAfter) {
+        Optional<HoldingsSnapshot> snapshot = portfolioAggregate.snapshot();
+        if (snapshot.isPresent()) {
+            HoldingsSnapshot holdings = snapshot.get();
+            Exposures exposures = new Exposures(holdings.size());
+            for (int slot = 0; slot < holdings.size(); slot++) {
+                if (portfolio.test(holdings.portfolioId(slot))) {
+                    exposures.add(holdings.id(slot), holdings.typeOrdinal(slot), holdings.value(slot) / VALUE_UNITS);
+                }
+            }
+            return exposures;
+        }
+        Exposures exposures = new Exposures(LOAD_PAGE_SIZE);
+        long lastId = 0;
+        List<Asset> page;
+        do {
+            page = pageAfter.apply(lastId);
+            for (Asset asset : page) {
+                exposures.add(asset.getId(), asset.getAssetType().ordinal(),
+                        FixedPoint.multiplyToMoney(asset.getQuantity(), asset.getCurrentPrice()).doubleValue());
+                lastId = asset.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        return exposures;
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(amount).setScale(FixedPoint.MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percent(double fraction) {
+        return BigDecimal.valueOf(fraction * 100).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Growable columns of asset id, type ordinal and current value.
+     */
+    private static final class Exposures {
+
+        private long[] ids;
+        private int[] types;
+        private double[] values;
+        private final int[] countByType = new int[TYPES.length];
+        private double totalValue;
+        private int size;
+
+        Exposures(int capacity) {
+            ids = new long[Math.max(capacity, 1)];
+            types = new int[ids.length];
+            values = new double[ids.length];
+        }
+
+        void add(long id, int type, double value) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                types = Arrays.copyOf(types, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            ids[size] = id;
+            types[size] = type;
+            values[size] = value;
+            countByType[type]++;
+            totalValue += value;
+            size++;
+        }
+
+        boolean held(AssetType type) {
+            return countByType[type.ordinal()] > 0;
+        }
+
+        long[] ids() {
+            return ids;
+        }
+
+        int[] types() {
+            return types;
+        }
+
+        double[] values() {
+            return values;
+        }
+
+        double totalValue() {
+            return totalValue;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.portfolio.manager.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.dto.ScenarioReportDTO;
+import com.portfolio.manager.dto.ScenarioRequestDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.repository.AssetRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * What-if price shocks. All scenarios of a request are evaluated in parallel against one immutable
+ * {@link HoldingsSnapshot}, each in a single {@link PortfolioReducer} pass that yields a dashboard-shaped summary.
+ * Nothing is written, and the table is read at most once while the holdings store is unavailable.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioService {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final int SHOCK_SCALE = 4;
+    // A shocked price is price * (100 + shock) at SHOCK_SCALE, divided by this.
+    private static final long SHOCK_DIVISOR = 1_000_000L;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final PortfolioAggregate portfolioAggregate;
+    private final AssetRepository assetRepository;
+    private final PortfolioReducer portfolioReducer;
+
+    /**
+     * Scenarios across all portfolios.
+     */
+    public ScenarioReportDTO runScenarios(ScenarioRequestDTO request) {
+        return run(null, holdings(portfolioId -> true,
+                lastId -> assetRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_PAGE_SIZE))), request);
+    }
+
+    public ScenarioReportDTO runPortfolioScenarios(long portfolioId, ScenarioRequestDTO request) {
+        return run(portfolioId, holdings(id -> id == portfolioId, lastId -> assetRepository
+                .findByPortfolioIdAndIdGreaterThanOrderByIdAsc(portfolioId, lastId, Limit.of(LOAD_PAGE_SIZE))), request);
+    }
+
+    private ScenarioReportDTO run(Long portfolioId, Book book, ScenarioRequestDTO request) {
+        List<ScenarioRequestDTO.Scenario> scenarios = request.getScenarios();
+        long baseValue = 0;
+        for (int slot : book.slots()) {
+            baseValue = Math.addExact(baseValue, book.snapshot().value(slot));
+        }
+        long base = baseValue;
+        List<ScenarioReportDTO.Result> results = IntStream.range(0, scenarios.size())
+                .parallel()
+                .mapToObj(index -> evaluate(book, scenarios.get(index), index, base))
+                .toList();
+        log.debug("Evaluated {} scenarios over {} assets", scenarios.size(), book.slots().length);
+        return ScenarioReportDTO.builder()
+                .portfolioId(portfolioId)
+                .totalValue(FixedPoint.money(baseValue))
+                .scenarios(results)
+                .build();
+    }
+
+    private ScenarioReportDTO.Result evaluate(Book book, ScenarioRequestDTO.Scenario scenario, int index,
+                                              long baseValue) {
+        String name = scenario.getName() == null ? "Scenario " + (index + 1) : scenario.getName();
+        PortfolioSummaryDTO summary;
+        try {
+            ShockedHoldings holdings = new ShockedHoldings(book, shockedPrices(book, scenario));
+            PortfolioReducer.Partial partial = portfolioReducer.reduce(holdings);
+            summary = partial.count() == 0
+                    ? PortfolioValuation.emptySummary()
+                    : PortfolioValuation.summary(partial, holdings::toDto);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Shocked value out of range in scenario " + name);
+        }
+        BigDecimal change = summary.getTotalValue().subtract(FixedPoint.money(baseValue));
+        return ScenarioReportDTO.Result.builder()
+                .name(name)
+                .summary(summary)
+                .valueChange(change)
+                .valueChangePercent(baseValue == 0
+                        ? BigDecimal.ZERO.setScale(2)
+                        : change.multiply(HUNDRED).divide(FixedPoint.money(baseValue), 2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    /**
+     * Shocked price of each slot of the book in cents, rounded HALF_UP.
+     */
+    private static long[] shockedPrices(Book book, ScenarioRequestDTO.Scenario scenario) {
+        long[] typeMultipliers = new long[PortfolioValuation.TYPES.length];
+        Arrays.fill(typeMultipliers, multiplier(BigDecimal.ZERO));
+        if (scenario.getTypeShocks() != null) {
+            scenario.getTypeShocks().forEach((type, shock) -> typeMultipliers[type.ordinal()] = multiplier(shock));
+        }
+        Map<String, Long> symbolMultipliers = new HashMap<>();
+        if (scenario.getSymbolShocks() != null) {
+            scenario.getSymbolShocks().forEach((symbol, shock) -> {
+                if (symbol == null || symbol.isBlank()) {
+                    throw new IllegalArgumentException("Symbol shocks need a symbol");
+                }
+                symbolMultipliers.put(symbol.trim(), multiplier(shock));
+            });
+        }
+        HoldingsSnapshot snapshot = book.snapshot();
+        int[] slots = book.slots();
+        long[] prices = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            int slot = slots[i];
+            Long symbolMultiplier = symbolMultipliers.isEmpty() ? null : symbolMultipliers.get(snapshot.symbol(slot));
+            long multiplier = symbolMultiplier != null ? symbolMultiplier : typeMultipliers[snapshot.typeOrdinal(slot)];
+            prices[i] = shock(snapshot.currentPrice(slot), multiplier);
+        }
+        return prices;
+    }
+
+    private static long multiplier(BigDecimal shock) {
+        return HUNDRED.add(shock).setScale(SHOCK_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static long shock(long price, long multiplier) {
+        try {
+            return Math.addExact(Math.multiplyExact(price, multiplier), SHOCK_DIVISOR / 2) / SHOCK_DIVISOR;
+        } catch (ArithmeticException ex) {
+            return BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(multiplier))
+                    .divide(BigDecimal.valueOf(SHOCK_DIVISOR), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+        }
+    }
+
+    /**
+     * Slots of the matching holdings in a snapshot of the in-memory aggregate or, while it is unavailable, in a
+     * snapshot built from the table page by page.
+     */
+    private Book holdings(LongPredicate portfolio, LongFunction<List<Asset>> pageAfter) {
+        Optional<HoldingsSnapshot> current = portfolioAggregate.snapshot();
+        if (current.isPresent()) {
+            HoldingsSnapshot snapshot = current.get();
+            int[] slots = IntStream.range(0, snapshot.size())
+                    .filter(slot -> portfolio.test(snapshot.portfolioId(slot)))
+                    .toArray();
+            return new Book(snapshot, slots);
+        }
+        HoldingsStore store = new HoldingsStore();
+        long lastId = 0;
+        List<Asset> page;
+        do {
+            page = pageAfter.apply(lastId);
+            for (Asset asset : page) {
+                store.upsert(asset);
+                lastId = asset.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        HoldingsSnapshot snapshot = store.snapshot();
+        return new Book(snapshot, IntStream.range(0, snapshot.size()).toArray());
+    }
+
+    private record Book(HoldingsSnapshot snapshot, int[] slots) {
+    }
+
+    /**
+     * The book's holdings at one scenario's prices, indexed by position in {@link Book#slots()}.
+     */
+    private record ShockedHoldings(Book book, long[] prices) implements PortfolioReducer.Holdings {
+
+        @Override
+        public int size() {
+            return prices.length;
+        }
+
+        @Override
+        public long value(int index) {
+            return FixedPoint.value(book.snapshot().quantity(book.slots()[index]), prices[index]);
+        }
+
+        @Override
+        public long investedValue(int index) {
+            return book.snapshot().investedValue(book.slots()[index]);
+        }
+
+        @Override
+        public int typeOrdinal(int index) {
+            return book.snapshot().typeOrdinal(book.slots()[index]);
+        }
+
+        AssetDTO toDto(int index) {
+            AssetDTO dto = book.snapshot().toDto(book.slots()[index]);
+            if (dto.getCurrentPrice() != null) {
+                dto.setCurrentPrice(BigDecimal.valueOf(prices[index], FixedPoint.PRICE_SCALE));
+            }
+            dto.setCurrentValue(FixedPoint.money(value(index)));
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.portfolio.manager.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.portfolio.manager.config.PriceRefreshProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process random walk feed so price refreshes work offline. Each symbol's walk starts from the price
+ * stored for it or, when it has none, from the optional seed file or a value derived from the symbol, and
+ * moves by a normally distributed relative step on every fetch.
+ */
+@Component
+@ConditionalOnProperty(prefix = "portfolio.prices", name = "source", havingValue = "simulated", matchIfMissing = true)
+@Slf4j
+public class SimulatedPriceSource implements PriceSource {
+
+    private static final BigDecimal MIN_PRICE = new BigDecimal("0.01");
+
+    private final Map<String, BigDecimal> prices = new ConcurrentHashMap<>();
+    private final Map<String, BigDecimal> seeds = new HashMap<>();
+    private final double volatility;
+
+    public SimulatedPriceSource(PriceRefreshProperties properties) {
+        this.volatility = properties.getSimulated().getVolatility();
+        String seedFile = properties.getSimulated().getSeedFile();
+        if (seedFile != null && !seedFile.isBlank()) {
+            seeds.putAll(readSeedFile(Path.of(seedFile)));
+            log.info("Simulated price feed seeded with {} symbols from {}", seeds.size(), seedFile);
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> fetchQuotes(Collection<String> symbols) {
+        Map<String, BigDecimal> storedPrices = new HashMap<>(symbols.size() * 2);
+        symbols.forEach(symbol -> storedPrices.put(symbol, null));
+        return fetchQuotes(storedPrices);
+    }
+
+    @Override
+    public Map<String, BigDecimal> fetchQuotes(Map<String, BigDecimal> storedPrices) {
+        Map<String, BigDecimal> quotes = new HashMap<>(storedPrices.size() * 2);
+        storedPrices.forEach((symbol, stored) -> quotes.put(symbol, prices.compute(symbol,
+                (key, last) -> step(last != null ? last : startPrice(key, stored)))));
+        return quotes;
+    }
+
+    private BigDecimal step(BigDecimal last) {
+        double move = 1 + ThreadLocalRandom.current().nextGaussian() * volatility;
+        BigDecimal next = last.multiply(BigDecimal.valueOf(move)).setScale(2, RoundingMode.HALF_UP);
+        return next.compareTo(MIN_PRICE) < 0 ? MIN_PRICE : next;
+    }
+
+    private BigDecimal startPrice(String symbol, BigDecimal stored) {
+        if (stored != null && stored.signum() > 0) {
+            return stored;
+        }
+        BigDecimal seed = seeds.get(symbol);
+        return seed != null ? seed : BigDecimal.valueOf(1_000 + Math.floorMod(symbol.hashCode(), 50_000), 2);
+    }
+
+    private static Map<String, BigDecimal> readSeedFile(Path path) {
+        try {
+            List<String> lines = Files.readAllLines(path);
+            Map<String, BigDecimal> seeds = new HashMap<>();
+            for (String line : lines) {
+                String[] parts = line.split(",");
+                if (parts.length == 2 && !parts[0].isBlank() && parts[1].trim().matches("\\d+(\\.\\d+)?")) {
+                    seeds.put(parts[0].trim(), new BigDecimal(parts[1].trim()).setScale(2, RoundingMode.HALF_UP));
+                }
+            }
+            return seeds;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read price seed file " + path, ex);
+        }
+    }
+}
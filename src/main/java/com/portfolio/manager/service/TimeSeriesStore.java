@@ -0,0 +1,369 @@
+package com.portfolio.manager.service;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.portfolio.manager.model.HistoryResolution;
+
+/**
+ * Append-only time series kept in segment files under one directory per series:
+ * {@code <root>/<series>/<resolution>-<segment>.seg}. A segment starts with a fixed header holding the
+ * point count, the encoded length and the last point, followed by one record per point: the time in seconds
+ * since the previous point (or the segment start) and the zig-zag encoded value change, both as varints, so
+ * a regularly sampled series costs a few bytes per point. Appends write the record before the header, so a
+ * reader never sees a partial record. Reads copy small segments to the heap, map larger ones, and decode
+ * them in place.
+ * <p>
+ * The segment each series and resolution is appending to stays open with its header cached, up to
+ * {@code maxOpenSegments} of them in least-recently-used order, so a steady append is two positional writes.
+ * <p>
+ * Points must be appended in increasing time order per series and resolution; a single writer is assumed.
+ */
+final class TimeSeriesStore implements Closeable {
+
+    record Point(long epochSecond, long value) {
+    }
+
+    private static final int MAGIC = 0x50565453;
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int MAX_RECORD_BYTES = 20;
+    private static final String SUFFIX = ".seg";
+    // Smaller segments are read onto the heap: mapping and unmapping costs more than copying a few pages.
+    private static final int MAX_COPIED_SEGMENT_BYTES = 64 * 1024;
+
+    static final int DEFAULT_MAX_OPEN_SEGMENTS = 4096;
+
+    private final Path root;
+    // Keyed by series and resolution; only touched by the single writer.
+    private final Map<String, OpenSegment> openSegments;
+
+    TimeSeriesStore(Path root) {
+        this(root, DEFAULT_MAX_OPEN_SEGMENTS);
+    }
+
+    TimeSeriesStore(Path root, int maxOpenSegments) {
+        this.root = root;
+        this.openSegments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OpenSegment> eldest) {
+                if (size() <= maxOpenSegments) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Appends a point; ignored if the segment already holds a point at or after {@code epochSecond}.
+     */
+    void append(String series, HistoryResolution resolution, long epochSecond, long value) {
+        try {
+            OpenSegment open = openSegment(series, resolution, resolution.segmentIndex(epochSecond));
+            Header header = open.header;
+            if (header.count() > 0 && epochSecond <= header.lastTime()) {
+                return;
+            }
+            ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_BYTES);
+            putVarLong(record, epochSecond - (header.count() == 0 ? header.segmentStart() : header.lastTime()));
+            putVarLong(record, zigZag(value - header.lastValue()));
+            record.flip();
+            int length = record.remaining();
+            Header next = new Header(resolution, header.segmentStart(), header.count() + 1,
+                    header.dataLength() + length, epochSecond, value);
+            try {
+                writeFully(open.channel, record, HEADER_BYTES + header.dataLength());
+                writeFully(open.channel, next.encode(), 0);
+            } catch (IOException ex) {
+                // The cached header may no longer match the file; reopen and reread it next time.
+                openSegments.remove(key(series, resolution));
+                closeQuietly(open);
+                throw ex;
+            }
+            open.header = next;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Closes all open segments; later appends reopen them.
+     */
+    @Override
+    public void close() {
+        openSegments.values().forEach(TimeSeriesStore::closeQuietly);
+        openSegments.clear();
+    }
+
+    /**
+     * Points with {@code from <= time <= to} in time order, at most {@code limit} of them.
+     */
+    List<Point> read(String series, HistoryResolution resolution, long from, long to, int limit) {
+        List<Point> points = new ArrayList<>();
+        for (long segment = resolution.segmentIndex(from);
+             segment <= resolution.segmentIndex(to) && points.size() < limit; segment++) {
+            readSegment(segmentPath(series, resolution, segment), from, to, limit, points);
+        }
+        return points;
+    }
+
+    /**
+     * Last raw point of a series, or null if it has none.
+     */
+    Point latest(String series) {
+        Path directory = root.resolve(series);
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        long latestSegment = Long.MIN_VALUE;
+        String rawSegments = prefix(HistoryResolution.RAW) + "*";
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, rawSegments)) {
+            for (Path segment : segments) {
+                latestSegment = Math.max(latestSegment, segmentIndex(segment));
+            }
+            if (latestSegment == Long.MIN_VALUE) {
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(segmentPath(series, HistoryResolution.RAW, latestSegment),
+                    StandardOpenOption.READ)) {
+                Header header = readHeader(channel);
+                return header.count() == 0 ? null : new Point(header.lastTime(), header.lastValue());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Deletes segments of {@code resolution} that end at or before {@code cutoff}. The newest raw segment of
+     * each series is kept, since it records the open rollup buckets.
+     *
+     * @return number of deleted segment files
+     */
+    int deleteBefore(HistoryResolution resolution, long cutoff) {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> seriesDirectories = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path directory : seriesDirectories) {
+                List<Path> segments = new ArrayList<>();
+                long newest = Long.MIN_VALUE;
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix(resolution) + "*")) {
+                    for (Path segment : files) {
+                        segments.add(segment);
+                        newest = Math.max(newest, segmentIndex(segment));
+                    }
+                }
+                for (Path segment : segments) {
+                    long index = segmentIndex(segment);
+                    boolean expired = (index + 1) * resolution.segmentSeconds() <= cutoff;
+                    if (expired && !(resolution == HistoryResolution.RAW && index == newest)) {
+                        String key = key(directory.getFileName().toString(), resolution);
+                        OpenSegment open = openSegments.get(key);
+                        if (open != null && open.index == index) {
+                            openSegments.remove(key);
+                            closeQuietly(open);
+                        }
+                        Files.deleteIfExists(segment);
+                        deleted++;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return deleted;
+    }
+
+    private OpenSegment openSegment(String series, HistoryResolution resolution, long index) throws IOException {
+        String key = key(series, resolution);
+        OpenSegment open = openSegments.get(key);
+        if (open != null) {
+            if (open.index == index) {
+                return open;
+            }
+            openSegments.remove(key);
+            closeQuietly(open);
+        }
+        Path path = segmentPath(series, resolution, index);
+        Files.createDirectories(path.getParent());
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            Header header = channel.size() < HEADER_BYTES
+                    ? new Header(resolution, index * resolution.segmentSeconds(), 0, 0, 0, 0)
+                    : readHeader(channel);
+            open = new OpenSegment(index, channel, header);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        openSegments.put(key, open);
+        return open;
+    }
+
+    private static String key(String series, HistoryResolution resolution) {
+        return series + '/' + resolution.name();
+    }
+
+    private static void closeQuietly(OpenSegment open) {
+        try {
+            open.channel.close();
+        } catch (IOException ex) {
+            // Every record and header was written positionally already; nothing is lost.
+        }
+    }
+
+    private void readSegment(Path path, long from, long to, int limit, List<Point> points) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                return;
+            }
+            ByteBuffer buffer = size <= MAX_COPIED_SEGMENT_BYTES ? copy(channel, (int) size)
+                    : channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Header header = Header.decode(buffer);
+            buffer.limit((int) Math.min(size, HEADER_BYTES + (long) header.dataLength()));
+            buffer.position(HEADER_BYTES);
+            long time = header.segmentStart();
+            long value = 0;
+            for (int i = 0; i < header.count() && buffer.hasRemaining() && points.size() < limit; i++) {
+                time += getVarLong(buffer);
+                value += unZigZag(getVarLong(buffer));
+                if (time > to) {
+                    return;
+                }
+                if (time >= from) {
+                    points.add(new Point(time, value));
+                }
+            }
+        } catch (NoSuchFileException ex) {
+            // No points in this segment.
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static ByteBuffer copy(FileChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private Path segmentPath(String series, HistoryResolution resolution, long segment) {
+        return root.resolve(series).resolve(prefix(resolution) + segment + SUFFIX);
+    }
+
+    private static String prefix(HistoryResolution resolution) {
+        return resolution.name().toLowerCase(Locale.ROOT) + "-";
+    }
+
+    private static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.length() - SUFFIX.length()));
+    }
+
+    private static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                throw new EOFException("Truncated valuation history segment header");
+            }
+        }
+        buffer.flip();
+        return Header.decode(buffer);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class OpenSegment {
+
+        private final long index;
+        private final FileChannel channel;
+        private Header header;
+
+        OpenSegment(long index, FileChannel channel, Header header) {
+            this.index = index;
+            this.channel = channel;
+            this.header = header;
+        }
+    }
+
+    private record Header(HistoryResolution resolution, long segmentStart, int count, int dataLength,
+                          long lastTime, long lastValue) {
+
+        ByteBuffer encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .put(VERSION)
+                    .put((byte) resolution.ordinal())
+                    .putShort((short) 0)
+                    .putLong(segmentStart)
+                    .putInt(count)
+                    .putInt(dataLength)
+                    .putLong(lastTime)
+                    .putLong(lastValue);
+            return buffer.flip();
+        }
+
+        static Header decode(ByteBuffer buffer) throws IOException {
+            if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+                throw new IOException("Not a valuation history segment");
+            }
+            return new Header(HistoryResolution.values()[buffer.get(5)], buffer.getLong(8), buffer.getInt(16),
+                    buffer.getInt(20), buffer.getLong(24), buffer.getLong(32));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.portfolio.manager.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.TransactionDTO;
+import com.portfolio.manager.dto.TransactionPageDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.exception.ResourceNotFoundException;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetTransaction;
+import com.portfolio.manager.repository.AssetRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionService {
+
+    private final AssetRepository assetRepository;
+    private final PositionLedger positionLedger;
+    private final AssetService assetService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Records a transaction and returns the asset with its updated position.
+     */
+    @Transactional
+    public AssetDTO recordTransaction(Long assetId, TransactionDTO request) {
+        Asset asset = assetRepository.findLockedById(assetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+        AssetTransaction entry = positionLedger.append(asset, request.getType(), request.getQuantity(),
+                request.getPrice());
+        Asset saved = assetRepository.saveAndFlush(asset);
+        eventPublisher.publishEvent(AssetChangedEvent.saved(saved.getAssetType(), saved));
+        log.info("Transaction {} recorded for asset {}", entry.getSequence(), assetId);
+        return assetService.toDto(saved);
+    }
+
+    public TransactionPageDTO getTransactions(Long assetId, long afterSequence, int limit) {
+        if (!assetRepository.existsById(assetId)) {
+            throw new ResourceNotFoundException("Asset not found");
+        }
+        List<AssetTransaction> entries = positionLedger.entries(assetId, afterSequence, Limit.of(limit + 1));
+        boolean hasMore = entries.size() > limit;
+        List<TransactionDTO> items = entries.stream().limit(limit).map(this::toDto).collect(Collectors.toList());
+        return TransactionPageDTO.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getSequence() : null)
+                .build();
+    }
+
+    /**
+     * Recomputes the asset's position from the ledger, starting at its latest snapshot, and stores it if the
+     * asset row has drifted. Positions that predate the ledger are left as they are.
+     */
+    @Transactional
+    public AssetDTO replayPosition(Long assetId) {
+        Asset asset = assetRepository.findLockedById(assetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+        if (asset.getLedgerSequence() == 0) {
+            return assetService.toDto(asset);
+        }
+        Position replayed = positionLedger.replay(assetId);
+        if (!replayed.sameAs(asset.getQuantity(), asset.getAvgBuyPrice())) {
+            log.warn("Asset {} position differed from its ledger and was rebuilt", assetId);
+            asset.setQuantity(replayed.quantity());
+            asset.setAvgBuyPrice(replayed.avgBuyPrice());
+            asset = assetRepository.saveAndFlush(asset);
+            eventPublisher.publishEvent(AssetChangedEvent.saved(asset.getAssetType(), asset));
+        }
+        return assetService.toDto(asset);
+    }
+
+    private TransactionDTO toDto(AssetTransaction entry) {
+        return TransactionDTO.builder()
+                .id(entry.getId())
+                .assetId(entry.getAssetId())
+                .sequence(entry.getSequence())
+                .type(entry.getType())
+                .quantity(entry.getQuantity())
+                .price(entry.getPrice())
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,333 @@
+package com.portfolio.manager.service;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.portfolio.manager.config.HistoryProperties;
+import com.portfolio.manager.dto.ValuationHistoryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.PricesRefreshedEvent;
+import com.portfolio.manager.model.HistoryResolution;
+import com.portfolio.manager.service.TimeSeriesStore.Point;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Valuation history per portfolio and per asset. After every price refresh the values in the portfolio
+ * aggregate are sampled into a {@link TimeSeriesStore}: raw points, plus minute, hour and day rollups that
+ * hold the last value of each bucket. A bucket is written once a later sample lands outside it, so range
+ * queries at a coarse resolution read only that resolution's segments. The open bucket comes from the
+ * series' last raw point, which also survives restarts.
+ * <p>
+ * With {@code record-assets}, each asset also gets a series of daily closing prices per unit, which risk
+ * returns are taken from so that trades do not count as market moves. Only the day rollup is written; the open
+ * day is held in memory and closed on shutdown or deletion, so a day spanning a restart closes at the last price
+ * seen before it.
+ * <p>
+ * Samples are written on a dedicated recorder thread, so a refresh never waits for file I/O. If the recorder
+ * is still busy when the next refresh lands, only the newest pending sample is kept.
+ */
+@Service
+@Slf4j
+public class ValuationHistory {
+
+    private static final HistoryResolution[] ROLLUPS =
+            {HistoryResolution.MINUTE, HistoryResolution.HOUR, HistoryResolution.DAY};
+    private static final HistoryResolution[] PRICE_ROLLUPS = {HistoryResolution.DAY};
+    private static final String PRICE_SERIES_PREFIX = "price-";
+    private static final long SWEEP_INTERVAL_SECONDS = TimeUnit.HOURS.toSeconds(1);
+
+    private final PortfolioAggregate portfolioAggregate;
+    private final HistoryProperties properties;
+    private final TimeSeriesStore store;
+    private final Executor recorder;
+    private final AtomicReference<PendingSample> pending = new AtomicReference<>();
+    private final Map<String, Point> lastSamples = new ConcurrentHashMap<>();
+    // A lock rather than synchronized: writes block on file I/O and must not pin virtual threads.
+    private final Lock writeLock = new ReentrantLock();
+    // Guarded by writeLock.
+    private long lastSweep = Long.MIN_VALUE;
+
+    @Autowired
+    public ValuationHistory(PortfolioAggregate portfolioAggregate, HistoryProperties properties) {
+        this(portfolioAggregate, properties,
+                new TimeSeriesStore(Path.of(properties.getDirectory()), properties.getMaxOpenSegments()),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "valuation-history");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    ValuationHistory(PortfolioAggregate portfolioAggregate, HistoryProperties properties, TimeSeriesStore store) {
+        this(portfolioAggregate, properties, store, Runnable::run);
+    }
+
+    ValuationHistory(PortfolioAggregate portfolioAggregate, HistoryProperties properties, TimeSeriesStore store,
+                     Executor recorder) {
+        this.portfolioAggregate = portfolioAggregate;
+        this.properties = properties;
+        this.store = store;
+        this.recorder = recorder;
+    }
+
+    @EventListener
+    public void onPricesRefreshed(PricesRefreshedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Optional<HoldingsSnapshot> snapshot = portfolioAggregate.snapshot();
+        if (snapshot.isEmpty()) {
+            log.debug("Valuation sample skipped, portfolio aggregate unavailable");
+            return;
+        }
+        if (pending.getAndSet(new PendingSample(snapshot.get(), event.refreshedAt().getEpochSecond())) != null) {
+            // The recorder has not picked up the previous sample yet; it will take this one instead.
+            return;
+        }
+        try {
+            recorder.execute(this::recordPending);
+        } catch (RejectedExecutionException ex) {
+            pending.set(null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (recorder instanceof ExecutorService executor) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeLock.lock();
+        try {
+            for (String series : lastSamples.keySet()) {
+                if (series.startsWith(PRICE_SERIES_PREFIX)) {
+                    closeSeries(series, PRICE_ROLLUPS);
+                }
+            }
+            store.close();
+        } catch (UncheckedIOException ex) {
+            log.warn("Could not close daily price history", ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the open buckets of a deleted asset so its last values reach the rollups.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (!event.isDeleted() || !properties.isEnabled() || !properties.isRecordAssets()) {
+            return;
+        }
+        try {
+            closeSeries(assetSeries(event.assetId()), ROLLUPS);
+            closeSeries(priceSeries(event.assetId()), PRICE_ROLLUPS);
+        } catch (UncheckedIOException ex) {
+            log.warn("Could not close valuation history of asset {}", event.assetId(), ex);
+        }
+    }
+
+    public ValuationHistoryDTO getPortfolioHistory(long portfolioId, HistoryResolution resolution, Instant from,
+                                                   Instant to) {
+        return query(portfolioSeries(portfolioId), resolution, from, to);
+    }
+
+    public ValuationHistoryDTO getAssetHistory(long assetId, HistoryResolution resolution, Instant from, Instant to) {
+        return query(assetSeries(assetId), resolution, from, to);
+    }
+
+    /**
+     * Closing prices per unit in cents of the asset on {@code days} consecutive days from {@code firstDay} (a day
+     * bucket start), the last of which may still be open; zero for days without a sample.
+     */
+    public long[] getAssetDailyPrices(long assetId, long firstDay, int days) {
+        HistoryResolution day = HistoryResolution.DAY;
+        long[] prices = new long[days];
+        String series = priceSeries(assetId);
+        long lastDay = firstDay + (days - 1) * day.bucketSeconds();
+        for (Point point : store.read(series, day, firstDay, lastDay, days)) {
+            prices[(int) ((point.epochSecond() - firstDay) / day.bucketSeconds())] = point.value();
+        }
+        // Price series have no raw points to fall back on; the open day lives only in memory.
+        Point last = lastSamples.get(series);
+        if (last != null) {
+            long openDay = day.bucketStart(last.epochSecond());
+            if (openDay >= firstDay && openDay <= lastDay) {
+                prices[(int) ((openDay - firstDay) / day.bucketSeconds())] = last.value();
+            }
+        }
+        return prices;
+    }
+
+    private void recordPending() {
+        PendingSample sample = pending.getAndSet(null);
+        if (sample == null) {
+            return;
+        }
+        try {
+            record(sample.holdings(), sample.epochSecond());
+        } catch (UncheckedIOException ex) {
+            log.warn("Could not record valuation history", ex);
+        }
+    }
+
+    void record(HoldingsSnapshot holdings, long epochSecond) {
+        writeLock.lock();
+        try {
+            Map<Long, Long> byPortfolio = new HashMap<>();
+            for (int slot = 0; slot < holdings.size(); slot++) {
+                long value = holdings.value(slot);
+                byPortfolio.merge(holdings.portfolioId(slot), value, Math::addExact);
+                if (properties.isRecordAssets()) {
+                    sample(assetSeries(holdings.id(slot)), epochSecond, FixedPoint.toCents(value));
+                    samplePrice(priceSeries(holdings.id(slot)), epochSecond, holdings.currentPrice(slot));
+                }
+            }
+            byPortfolio.forEach((portfolioId, value) ->
+                    sample(portfolioSeries(portfolioId), epochSecond, FixedPoint.toCents(value)));
+            if (epochSecond - lastSweep >= SWEEP_INTERVAL_SECONDS) {
+                lastSweep = epochSecond;
+                sweep(epochSecond);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void sample(String series, long epochSecond, long cents) {
+        Point previous = lastSample(series);
+        if (previous != null) {
+            if (epochSecond <= previous.epochSecond()) {
+                return;
+            }
+            for (HistoryResolution rollup : ROLLUPS) {
+                long bucket = rollup.bucketStart(previous.epochSecond());
+                if (bucket < rollup.bucketStart(epochSecond)) {
+                    store.append(series, rollup, bucket, previous.value());
+                }
+            }
+        }
+        store.append(series, HistoryResolution.RAW, epochSecond, cents);
+        lastSamples.put(series, new Point(epochSecond, cents));
+    }
+
+    /**
+     * Keeps the latest price in memory and writes the day close once a sample lands on a later day.
+     */
+    private void samplePrice(String series, long epochSecond, long cents) {
+        Point previous = lastSamples.get(series);
+        if (previous != null) {
+            if (epochSecond <= previous.epochSecond()) {
+                return;
+            }
+            long day = HistoryResolution.DAY.bucketStart(previous.epochSecond());
+            if (day < HistoryResolution.DAY.bucketStart(epochSecond)) {
+                store.append(series, HistoryResolution.DAY, day, previous.value());
+            }
+        }
+        lastSamples.put(series, new Point(epochSecond, cents));
+    }
+
+    private void closeSeries(String series, HistoryResolution[] rollups) {
+        writeLock.lock();
+        try {
+            Point last = lastSample(series);
+            if (last != null) {
+                for (HistoryResolution rollup : rollups) {
+                    store.append(series, rollup, rollup.bucketStart(last.epochSecond()), last.value());
+                }
+            }
+            lastSamples.remove(series);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void sweep(long now) {
+        int deleted = store.deleteBefore(HistoryResolution.RAW, now - properties.getRawRetention().toSeconds())
+                + store.deleteBefore(HistoryResolution.MINUTE, now - properties.getMinuteRetention().toSeconds())
+                + store.deleteBefore(HistoryResolution.HOUR, now - properties.getHourRetention().toSeconds());
+        if (deleted > 0) {
+            log.info("Deleted {} expired valuation history segments", deleted);
+        }
+    }
+
+    private ValuationHistoryDTO query(String series, HistoryResolution resolution, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        long start = resolution.bucketStart(from.getEpochSecond());
+        long end = to.getEpochSecond();
+        int maxPoints = properties.getMaxPoints();
+        List<Point> points = store.read(series, resolution, start, end, maxPoints + 1);
+        if (resolution != HistoryResolution.RAW) {
+            Point last = lastSample(series);
+            if (last != null) {
+                long openBucket = resolution.bucketStart(last.epochSecond());
+                boolean written = !points.isEmpty() && points.get(points.size() - 1).epochSecond() >= openBucket;
+                if (!written && openBucket >= start && openBucket <= end) {
+                    points.add(new Point(openBucket, last.value()));
+                }
+            }
+        }
+        if (points.size() > maxPoints) {
+            throw new IllegalArgumentException("Range holds more than " + maxPoints
+                    + " points; use a coarser resolution or a shorter range");
+        }
+        return ValuationHistoryDTO.builder()
+                .resolution(resolution)
+                .points(points.stream()
+                        .map(point -> new ValuationHistoryDTO.Point(Instant.ofEpochSecond(point.epochSecond()),
+                                BigDecimal.valueOf(point.value(), FixedPoint.MONEY_SCALE)))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private Point lastSample(String series) {
+        Point last = lastSamples.get(series);
+        return last != null ? last : store.latest(series);
+    }
+
+    private static String portfolioSeries(long portfolioId) {
+        return "portfolio-" + portfolioId;
+    }
+
+    private static String assetSeries(long assetId) {
+        return "asset-" + assetId;
+    }
+
+    static String priceSeries(long assetId) {
+        return PRICE_SERIES_PREFIX + assetId;
+    }
+
+    private record PendingSample(HoldingsSnapshot holdings, long epochSecond) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.portfolio.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.Portfolio;
+import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.PortfolioRepository;
+import com.portfolio.manager.service.AssetService;
+
+/**
+ * Edits racing price ticks against H2 in MySQL mode: a tick lands between a client's read and its update.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class AssetUpdateIntegrationTest {
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Test
+    void updateAsset_acceptsTheVersionReturnedByCreate() {
+        AssetDTO created = create("Created");
+        created.setQuantity(new BigDecimal("12.0000"));
+
+        AssetDTO updated = assetService.updateAsset(created.getId(), created);
+
+        Asset stored = assetRepository.findById(created.getId()).orElseThrow();
+        assertThat(stored.getQuantity()).isEqualByComparingTo("12");
+        assertThat(stored.getVersion()).isEqualTo(created.getVersion() + 1);
+        assertThat(updated.getVersion()).isEqualTo(stored.getVersion());
+    }
+
+    @Test
+    void updateAsset_keepsPriceTickedSinceRead() {
+        long id = create("Ticked").getId();
+
+        AssetDTO read = assetService.getAssetById(id);
+        assetService.updatePrice(id, new BigDecimal("181.25"));
+        read.setName("Apple Inc.");
+        AssetDTO updated = assetService.updateAsset(id, read);
+
+        Asset stored = assetRepository.findById(id).orElseThrow();
+        assertThat(stored.getName()).isEqualTo("Apple Inc.");
+        assertThat(stored.getCurrentPrice()).isEqualByComparingTo("181.25");
+        assertThat(updated.getCurrentPrice()).isEqualByComparingTo("181.25");
+        assertThat(updated.getVersion()).isEqualTo(read.getVersion() + 1);
+    }
+
+    private AssetDTO create(String portfolioName) {
+        long portfolioId = portfolioRepository.save(Portfolio.builder().name(portfolioName).build()).getId();
+        return assetService.createAsset(AssetDTO.builder()
+                .portfolioId(portfolioId)
+                .symbol("AAPL")
+                .name("Apple")
+                .assetType(AssetType.STOCK)
+                .quantity(new BigDecimal("10.0000"))
+                .avgBuyPrice(new BigDecimal("150.00"))
+                .currentPrice(new BigDecimal("170.00"))
+                .build());
+    }
+}
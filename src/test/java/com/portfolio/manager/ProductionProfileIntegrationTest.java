@@ -0,0 +1,162 @@
+package com.portfolio.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.BulkImportResultDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.Portfolio;
+import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.PortfolioRepository;
+import com.portfolio.manager.service.AssetImportService;
+import com.portfolio.manager.service.AssetService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Boots the application with the production profile against H2 in MySQL mode and checks that the pool and
+ * Hibernate settings take effect, in particular that bulk writes go out as JDBC batches.
+ */
+@SpringBootTest
+@ActiveProfiles({"production", "h2"})
+class ProductionProfileIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private AssetImportService assetImportService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Test
+    void poolIsFixedSize() {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+
+        assertThat(hikari.getPoolName()).isEqualTo("portfolio");
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(20);
+    }
+
+    @Test
+    void hibernateSettingsApplied() {
+        var properties = entityManagerFactory.getProperties();
+
+        assertThat(properties).containsEntry("hibernate.jdbc.batch_size", "500")
+                .containsEntry("hibernate.order_inserts", "true")
+                .containsEntry("hibernate.order_updates", "true")
+                .containsEntry("hibernate.format_sql", "false");
+    }
+
+    @Test
+    void bulkImportIsBatched() {
+        long portfolioId = portfolioRepository.save(Portfolio.builder().name("Batched").build()).getId();
+        List<AssetDTO> rows = IntStream.range(0, 1000)
+                .mapToObj(i -> AssetDTO.builder()
+                        .symbol("SYM" + i)
+                        .name("Asset " + i)
+                        .assetType(AssetType.STOCK)
+                        .quantity(new BigDecimal("10.0000"))
+                        .avgBuyPrice(new BigDecimal("100.00"))
+                        .currentPrice(new BigDecimal("110.00"))
+                        .build())
+                .collect(Collectors.toList());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkImportResultDTO result = assetImportService.importAssets(portfolioId, rows);
+
+        assertThat(result.getCreated()).isEqualTo(1000);
+        // 1000 assets plus their opening ledger entries, written in batches of 500 rather than row by row.
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2000);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(100);
+        // New rows are inserted with their ledger state and not updated afterwards.
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(find(portfolioId, "SYM0").getVersion()).isZero();
+    }
+
+    @Test
+    void bulkImportUpdatesAreBatched() {
+        long portfolioId = portfolioRepository.save(Portfolio.builder().name("Reimported").build()).getId();
+        assetImportService.importAssets(portfolioId, rows(200, "100.00"));
+        long version = find(portfolioId, "SYM0").getVersion();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkImportResultDTO result = assetImportService.importAssets(portfolioId, rows(200, "120.00"));
+
+        assertThat(result.getUpdated()).isEqualTo(200);
+        // Updated rows go out through the import's batched statement, not as single-row entity updates.
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        Asset updated = find(portfolioId, "SYM0");
+        assertThat(updated.getAvgBuyPrice()).isEqualByComparingTo("120.00");
+        assertThat(updated.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void bulkImportKeepsStoredPrices() {
+        long portfolioId = portfolioRepository.save(Portfolio.builder().name("Priced").build()).getId();
+        assetImportService.importAssets(portfolioId, rows(2, "100.00"));
+        assetService.updatePrice(find(portfolioId, "SYM0").getId(), new BigDecimal("181.25"));
+
+        assetImportService.importCsv(portfolioId, """
+                symbol,name,assetType,quantity,avgBuyPrice
+                SYM0,Asset 0,STOCK,12,100.00
+                """);
+        Asset unpriced = find(portfolioId, "SYM0");
+        List<AssetDTO> priced = rows(2, "100.00");
+        priced.get(1).setCurrentPrice(new BigDecimal("99.00"));
+        assetImportService.importAssets(portfolioId, priced);
+
+        assertThat(unpriced.getQuantity()).isEqualByComparingTo("12");
+        assertThat(unpriced.getCurrentPrice()).isEqualByComparingTo("181.25");
+        assertThat(find(portfolioId, "SYM1").getCurrentPrice()).isEqualByComparingTo("110.00");
+    }
+
+    private Asset find(long portfolioId, String symbol) {
+        return assetRepository.findAll().stream()
+                .filter(asset -> asset.getPortfolioId() == portfolioId && asset.getSymbol().equals(symbol))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<AssetDTO> rows(int count, String avgBuyPrice) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> AssetDTO.builder()
+                        .symbol("SYM" + i)
+                        .name("Asset " + i)
+                        .assetType(AssetType.STOCK)
+                        .quantity(new BigDecimal("10.0000"))
+                        .avgBuyPrice(new BigDecimal(avgBuyPrice))
+                        .currentPrice(new BigDecimal("110.00"))
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
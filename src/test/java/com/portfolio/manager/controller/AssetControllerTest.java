@@ -1,34 +1,59 @@
 package com.portfolio.manager.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.portfolio.manager.config.WireFormatConfig;
 import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.AssetPageDTO;
+import com.portfolio.manager.dto.AssetQueryDTO;
+import com.portfolio.manager.dto.BulkImportResultDTO;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
 import com.portfolio.manager.exception.GlobalExceptionHandler;
 import com.portfolio.manager.exception.ResourceNotFoundException;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetRanking;
+import com.portfolio.manager.model.AssetSort;
 import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.service.AssetImportService;
 import com.portfolio.manager.service.AssetService;
+import com.portfolio.manager.service.HoldingsVersion;
+import com.portfolio.manager.service.ValuationHistory;
 
 @WebMvcTest(controllers = AssetController.class)
-@Import(GlobalExceptionHandler.class)
+@Import({GlobalExceptionHandler.class, HoldingsVersion.class, WireFormatConfig.class})
 class AssetControllerTest {
 
     @Autowired
@@ -40,6 +65,15 @@ class AssetControllerTest {
     @MockBean
     private AssetService assetService;
 
+    @MockBean
+    private AssetImportService assetImportService;
+
+    @MockBean
+    private ValuationHistory valuationHistory;
+
+    @Autowired
+    private HoldingsVersion holdingsVersion;
+
     @Test
     void getAssets_success() throws Exception {
         AssetDTO asset = AssetDTO.builder()
@@ -54,7 +88,7 @@ class AssetControllerTest {
                 .investedValue(new BigDecimal("1500.00"))
                 .build();
 
-        when(assetService.getAssets(any())).thenReturn(List.of(asset));
+        when(assetService.findAssets(any())).thenReturn(List.of(asset));
 
         mockMvc.perform(get("/api/assets"))
                 .andExpect(status().isOk())
@@ -62,6 +96,135 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$[0].symbol").value("AAPL"));
     }
 
+    @Test
+    void getAssets_notModifiedUntilTheHoldingsChange() throws Exception {
+        when(assetService.findAssets(any())).thenReturn(List.of(AssetDTO.builder().id(1L).build()));
+
+        String etag = mockMvc.perform(get("/api/assets"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/assets").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(assetService, times(1)).findAssets(any());
+
+        holdingsVersion.onPricesChanged(new AssetPricesChangedEvent(List.of()));
+
+        mockMvc.perform(get("/api/assets").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", holdingsVersion.etag()))
+                .andExpect(jsonPath("$[0].id").value(1));
+        assertThat(holdingsVersion.etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void getAssets_cborWithItsOwnETag() throws Exception {
+        when(assetService.findAssets(any())).thenReturn(List.of(AssetDTO.builder()
+                .id(7L)
+                .symbol("BTC")
+                .currentValue(new BigDecimal("12345.67"))
+                .build()));
+
+        byte[] body = mockMvc.perform(get("/api/assets").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", holdingsVersion.etag("cbor")))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+        AssetDTO[] assets = new CBORMapper().readValue(body, AssetDTO[].class);
+
+        assertThat(assets[0].getSymbol()).isEqualTo("BTC");
+        assertThat(assets[0].getCurrentValue()).isEqualByComparingTo("12345.67");
+        mockMvc.perform(get("/api/assets")
+                        .header("Accept", "application/cbor;q=0.5, application/json")
+                        .header("If-None-Match", holdingsVersion.etag("cbor")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", holdingsVersion.etag()));
+    }
+
+    @Test
+    void getAssets_filteredAndSorted() throws Exception {
+        AssetDTO asset = AssetDTO.builder().id(5L).symbol("AAPL").build();
+        AssetQueryDTO query = AssetQueryDTO.builder()
+                .type(AssetType.STOCK)
+                .symbol("AA")
+                .minValue(new BigDecimal("1000"))
+                .maxQuantity(new BigDecimal("50"))
+                .sort(AssetSort.GAIN_PERCENT)
+                .direction(Sort.Direction.ASC)
+                .limit(20)
+                .build();
+        when(assetService.findAssets(query)).thenReturn(List.of(asset));
+
+        mockMvc.perform(get("/api/assets")
+                        .param("type", "STOCK")
+                        .param("symbol", "AA")
+                        .param("minValue", "1000")
+                        .param("maxQuantity", "50")
+                        .param("sort", "GAIN_PERCENT")
+                        .param("direction", "ASC")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].symbol").value("AAPL"));
+    }
+
+    @Test
+    void getAssets_limitTooLarge() throws Exception {
+        mockMvc.perform(get("/api/assets").param("sort", "VALUE").param("limit", "5000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void getAssetPage_success() throws Exception {
+        AssetDTO asset = AssetDTO.builder().id(5L).symbol("AAPL").build();
+        when(assetService.getAssetPage(Optional.of(AssetType.STOCK), 4L, 1))
+                .thenReturn(AssetPageDTO.builder().items(List.of(asset)).nextCursor(5L).build());
+
+        mockMvc.perform(get("/api/assets/page").param("type", "STOCK").param("after", "4").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(5L))
+                .andExpect(jsonPath("$.nextCursor").value(5L));
+    }
+
+    @Test
+    void getTopAssets_success() throws Exception {
+        AssetDTO asset = AssetDTO.builder().id(5L).symbol("AAPL").build();
+        when(assetService.getTopAssets(AssetRanking.GAIN, Optional.empty(), 3)).thenReturn(List.of(asset));
+
+        mockMvc.perform(get("/api/assets/top").param("by", "GAIN").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].symbol").value("AAPL"));
+    }
+
+    @Test
+    void getAssetPage_limitTooLarge() throws Exception {
+        mockMvc.perform(get("/api/assets/page").param("limit", "5000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void streamAssets_writesJsonArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<AssetDTO> consumer = invocation.getArgument(1);
+            consumer.accept(AssetDTO.builder().id(1L).symbol("AAPL").build());
+            consumer.accept(AssetDTO.builder().id(2L).symbol("BND").build());
+            return null;
+        }).when(assetService).streamAssets(eq(Optional.empty()), any());
+
+        MvcResult result = mockMvc.perform(get("/api/assets/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].symbol").value("BND"));
+    }
+
     @Test
     void createAsset_success() throws Exception {
         AssetDTO request = AssetDTO.builder()
@@ -95,6 +258,21 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$.symbol").value("AAPL"));
     }
 
+    @Test
+    void importAssetsCsv_success() throws Exception {
+        String csv = "symbol,name,assetType,quantity,avgBuyPrice\nAAPL,Apple,STOCK,10,150.00\n";
+        when(assetImportService.importCsv(2L, csv))
+                .thenReturn(BulkImportResultDTO.builder().created(1).errors(List.of()).build());
+
+        mockMvc.perform(post("/api/assets/bulk")
+                        .param("portfolioId", "2")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+    }
+
     @Test
     void updateAsset_notFound() throws Exception {
         AssetDTO request = AssetDTO.builder()
@@ -119,6 +297,46 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$.path").value("/api/assets/99"));
     }
 
+    @Test
+    void updateAsset_conflict() throws Exception {
+        AssetDTO request = AssetDTO.builder()
+                .symbol("AAPL")
+                .name("Apple")
+                .assetType(AssetType.STOCK)
+                .quantity(new BigDecimal("10.0000"))
+                .avgBuyPrice(new BigDecimal("150.00"))
+                .version(3L)
+                .build();
+
+        when(assetService.updateAsset(eq(7L), any(AssetDTO.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Asset.class, 7L));
+
+        mockMvc.perform(put("/api/assets/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.path").value("/api/assets/7"));
+    }
+
+    @Test
+    void updatePrice_success() throws Exception {
+        mockMvc.perform(put("/api/assets/7/price")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPrice\": 181.25}"))
+                .andExpect(status().isNoContent());
+
+        verify(assetService).updatePrice(7L, new BigDecimal("181.25"));
+    }
+
+    @Test
+    void updatePrice_negative() throws Exception {
+        mockMvc.perform(put("/api/assets/7/price")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPrice\": -1}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void createAsset_validationFailure() throws Exception {
         AssetDTO request = AssetDTO.builder()
@@ -0,0 +1,106 @@
+package com.portfolio.manager.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.portfolio.manager.config.WireFormatConfig;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.exception.GlobalExceptionHandler;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.service.DashboardService;
+import com.portfolio.manager.service.DashboardStreamService;
+import com.portfolio.manager.service.HoldingsVersion;
+import com.portfolio.manager.service.PriceUpdateService;
+import com.portfolio.manager.service.RiskService;
+import com.portfolio.manager.service.ScenarioService;
+
+@WebMvcTest(controllers = DashboardController.class)
+@Import({GlobalExceptionHandler.class, HoldingsVersion.class, WireFormatConfig.class})
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HoldingsVersion holdingsVersion;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    @MockBean
+    private DashboardStreamService dashboardStreamService;
+
+    @MockBean
+    private PriceUpdateService priceUpdateService;
+
+    @MockBean
+    private RiskService riskService;
+
+    @MockBean
+    private ScenarioService scenarioService;
+
+    @Test
+    void getDashboard_answersIfNoneMatchWithoutRecomputing() throws Exception {
+        when(dashboardService.getPortfolioSummary()).thenReturn(PortfolioSummaryDTO.builder()
+                .totalValue(new BigDecimal("1500.00"))
+                .allocationByType(Map.of(AssetType.STOCK, new BigDecimal("100.00")))
+                .assetCount(1)
+                .build());
+        String etag = holdingsVersion.etag();
+
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$.totalValue").value(1500.00));
+        mockMvc.perform(get("/api/dashboard").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/api/dashboard").header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified());
+        verify(dashboardService, times(1)).getPortfolioSummary();
+
+        holdingsVersion.onAssetChanged(AssetChangedEvent.deleted(1L, 1L, AssetType.STOCK));
+
+        mockMvc.perform(get("/api/dashboard").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", holdingsVersion.etag()));
+        verify(dashboardService, times(2)).getPortfolioSummary();
+    }
+
+    @Test
+    void getDashboard_smile() throws Exception {
+        when(dashboardService.getPortfolioSummary()).thenReturn(PortfolioSummaryDTO.builder()
+                .totalValue(new BigDecimal("1500.00"))
+                .assetCount(3)
+                .build());
+
+        byte[] body = mockMvc.perform(get("/api/dashboard").header("Accept", "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string("ETag", holdingsVersion.etag("x-jackson-smile")))
+                .andReturn().getResponse().getContentAsByteArray();
+        PortfolioSummaryDTO summary = new SmileMapper().readValue(body, PortfolioSummaryDTO.class);
+
+        assertThat(summary.getTotalValue()).isEqualByComparingTo("1500.00");
+        assertThat(summary.getAssetCount()).isEqualTo(3);
+    }
+}
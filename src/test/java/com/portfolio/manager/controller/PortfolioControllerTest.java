@@ -0,0 +1,202 @@
+package com.portfolio.manager.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.portfolio.manager.dto.PortfolioDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.dto.RebalancePlanDTO;
+import com.portfolio.manager.dto.RebalanceTargetsDTO;
+import com.portfolio.manager.dto.RiskQueryDTO;
+import com.portfolio.manager.dto.ScenarioReportDTO;
+import com.portfolio.manager.dto.ScenarioRequestDTO;
+import com.portfolio.manager.dto.RiskReportDTO;
+import com.portfolio.manager.dto.ValuationHistoryDTO;
+import com.portfolio.manager.exception.GlobalExceptionHandler;
+import com.portfolio.manager.exception.ResourceNotFoundException;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.HistoryResolution;
+import com.portfolio.manager.model.TransactionType;
+import com.portfolio.manager.service.PortfolioService;
+
+@WebMvcTest(controllers = PortfolioController.class)
+@Import(GlobalExceptionHandler.class)
+class PortfolioControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PortfolioService portfolioService;
+
+    @Test
+    void createPortfolio_success() throws Exception {
+        when(portfolioService.createPortfolio(any(PortfolioDTO.class)))
+                .thenReturn(PortfolioDTO.builder().id(2L).name("Client A").build());
+
+        mockMvc.perform(post("/api/portfolios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Client A\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(2L));
+    }
+
+    @Test
+    void createPortfolio_requiresName() throws Exception {
+        mockMvc.perform(post("/api/portfolios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getDashboard_success() throws Exception {
+        when(portfolioService.getSummary(2L)).thenReturn(PortfolioSummaryDTO.builder()
+                .totalValue(new BigDecimal("450.00"))
+                .allocationByType(Map.of(AssetType.BOND, new BigDecimal("100.00")))
+                .assetCount(1)
+                .build());
+
+        mockMvc.perform(get("/api/portfolios/2/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalValue").value(450.00))
+                .andExpect(jsonPath("$.allocationByType.BOND").value(100.00));
+    }
+
+    @Test
+    void getRisk_success() throws Exception {
+        RiskQueryDTO query = RiskQueryDTO.builder().confidence(0.95).horizonDays(10).seed(7L).build();
+        when(portfolioService.getRisk(2L, query)).thenReturn(RiskReportDTO.builder()
+                .totalValue(new BigDecimal("450.00"))
+                .confidence(0.95)
+                .horizonDays(10)
+                .monteCarloVar(new BigDecimal("31.20"))
+                .riskContributionByType(Map.of(AssetType.BOND, new BigDecimal("38.90")))
+                .build());
+
+        mockMvc.perform(get("/api/portfolios/2/risk")
+                        .param("confidence", "0.95")
+                        .param("horizonDays", "10")
+                        .param("seed", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monteCarloVar").value(31.20))
+                .andExpect(jsonPath("$.riskContributionByType.BOND").value(38.90));
+    }
+
+    @Test
+    void getRisk_rejectsConfidenceOfOne() throws Exception {
+        mockMvc.perform(get("/api/portfolios/2/risk").param("confidence", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void runScenarios_success() throws Exception {
+        when(portfolioService.runScenarios(eq(2L), any(ScenarioRequestDTO.class)))
+                .thenReturn(ScenarioReportDTO.builder()
+                        .portfolioId(2L)
+                        .totalValue(new BigDecimal("1000.00"))
+                        .scenarios(List.of(ScenarioReportDTO.Result.builder()
+                                .name("crypto crash")
+                                .valueChange(new BigDecimal("-400.00"))
+                                .build()))
+                        .build());
+
+        mockMvc.perform(post("/api/portfolios/2/scenarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scenarios\":[{\"name\":\"crypto crash\",\"typeShocks\":{\"CRYPTO\":-40}}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scenarios[0].name").value("crypto crash"))
+                .andExpect(jsonPath("$.scenarios[0].valueChange").value(-400.0));
+    }
+
+    @Test
+    void runScenarios_rejectsShockBelowMinus100() throws Exception {
+        mockMvc.perform(post("/api/portfolios/2/scenarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scenarios\":[{\"symbolShocks\":{\"BTC\":-101}}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void setRebalanceTargets_success() throws Exception {
+        when(portfolioService.setRebalanceTargets(eq(2L), any(RebalanceTargetsDTO.class)))
+                .thenReturn(RebalancePlanDTO.builder()
+                        .portfolioId(2L)
+                        .withinTolerance(false)
+                        .trades(List.of(RebalancePlanDTO.Trade.builder()
+                                .assetId(5L)
+                                .side(TransactionType.SELL)
+                                .quantity(new BigDecimal("3.0000"))
+                                .build()))
+                        .build());
+
+        mockMvc.perform(put("/api/portfolios/2/rebalance/targets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"typeWeights\":{\"STOCK\":60,\"BOND\":40},\"tolerance\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trades[0].side").value("SELL"))
+                .andExpect(jsonPath("$.trades[0].quantity").value(3.0));
+    }
+
+    @Test
+    void setRebalanceTargets_rejectsNegativeWeight() throws Exception {
+        mockMvc.perform(put("/api/portfolios/2/rebalance/targets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"typeWeights\":{\"STOCK\":110,\"BOND\":-10}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void clearRebalanceTargets_noContent() throws Exception {
+        mockMvc.perform(delete("/api/portfolios/2/rebalance/targets"))
+                .andExpect(status().isNoContent());
+        verify(portfolioService).clearRebalanceTargets(2L);
+    }
+
+    @Test
+    void getDashboard_unknownPortfolio() throws Exception {
+        when(portfolioService.getSummary(9L)).thenThrow(new ResourceNotFoundException("Portfolio not found"));
+
+        mockMvc.perform(get("/api/portfolios/9/dashboard"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Portfolio not found"));
+    }
+
+    @Test
+    void getHistory_defaultsToDailyPoints() throws Exception {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-01-03T00:00:00Z");
+        when(portfolioService.getHistory(2L, HistoryResolution.DAY, from, to)).thenReturn(ValuationHistoryDTO.builder()
+                .resolution(HistoryResolution.DAY)
+                .points(List.of(new ValuationHistoryDTO.Point(from, new BigDecimal("450.00"))))
+                .build());
+
+        mockMvc.perform(get("/api/portfolios/2/history")
+                        .param("from", "2026-01-01T00:00:00Z")
+                        .param("to", "2026-01-03T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resolution").value("DAY"))
+                .andExpect(jsonPath("$.points[0].value").value(450.00));
+    }
+}
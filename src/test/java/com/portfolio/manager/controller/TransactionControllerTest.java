@@ -0,0 +1,69 @@
+package com.portfolio.manager.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.TransactionDTO;
+import com.portfolio.manager.exception.GlobalExceptionHandler;
+import com.portfolio.manager.service.TransactionService;
+
+@WebMvcTest(controllers = TransactionController.class)
+@Import(GlobalExceptionHandler.class)
+class TransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @Test
+    void recordTransaction_returnsUpdatedPosition() throws Exception {
+        when(transactionService.recordTransaction(eq(1L), any(TransactionDTO.class))).thenReturn(AssetDTO.builder()
+                .id(1L)
+                .quantity(new BigDecimal("15.0000"))
+                .avgBuyPrice(new BigDecimal("110.00"))
+                .build());
+
+        mockMvc.perform(post("/api/assets/1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"BUY\",\"quantity\":5,\"price\":130.00}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.avgBuyPrice").value(110.00));
+    }
+
+    @Test
+    void recordTransaction_rejectsOverselling() throws Exception {
+        when(transactionService.recordTransaction(eq(1L), any(TransactionDTO.class)))
+                .thenThrow(new IllegalArgumentException("Cannot sell more than the held quantity of 10.0000"));
+
+        mockMvc.perform(post("/api/assets/1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"SELL\",\"quantity\":11,\"price\":130.00}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cannot sell more than the held quantity of 10.0000"));
+    }
+
+    @Test
+    void recordTransaction_validatesRequest() throws Exception {
+        mockMvc.perform(post("/api/assets/1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"BUY\",\"quantity\":0,\"price\":130.00}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,76 @@
+package com.portfolio.manager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.Portfolio;
+
+/**
+ * The id sequence seed from the README migration, against a table that already holds rows. Runs on its own
+ * database so the generator's first block is fetched after the seed is applied, and outside a test transaction
+ * because the generator reads the sequence table in a transaction of its own.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = "spring.datasource.url="
+        + "jdbc:h2:mem:idseq;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssetIdSequenceTest {
+
+    private static final int EXISTING = 120;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void seededSequence_continuesAfterExistingIds() {
+        long portfolioId = portfolioRepository.save(Portfolio.builder().name("Migrated").build()).getId();
+        for (long id = 1; id <= EXISTING; id++) {
+            jdbcTemplate.update("INSERT INTO assets (id, portfolio_id, symbol, name, asset_type, quantity, "
+                    + "avg_buy_price, current_price, ledger_sequence, version) "
+                    + "VALUES (?, ?, ?, ?, 'STOCK', 1, 1, 1, 0, 0)",
+                    id, portfolioId, "OLD" + id, "Old " + id);
+        }
+        // The migration's seed statement; the MySQL dialect emulates the sequence with a table here too.
+        jdbcTemplate.update("DELETE FROM asset_id_seq");
+        jdbcTemplate.update("INSERT INTO asset_id_seq SELECT COALESCE(MAX(id), 0) + 50 FROM assets");
+
+        List<Asset> saved = assetRepository.saveAll(IntStream.range(0, 60)
+                .mapToObj(i -> Asset.builder()
+                        .portfolioId(portfolioId)
+                        .symbol("NEW" + i)
+                        .name("New " + i)
+                        .assetType(AssetType.STOCK)
+                        .quantity(BigDecimal.ONE)
+                        .avgBuyPrice(BigDecimal.ONE)
+                        .build())
+                .toList());
+
+        assertThat(saved).extracting(Asset::getId)
+                .containsExactlyElementsOf(IntStream.rangeClosed(EXISTING + 1, EXISTING + 60).boxed()
+                        .map(Long::valueOf).toList());
+        assertThat(assetRepository.count()).isEqualTo(EXISTING + 60);
+    }
+}
@@ -0,0 +1,152 @@
+package com.portfolio.manager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.Portfolio;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Generated value columns and the queries that sort and aggregate on them, against H2 in MySQL mode.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class AssetRepositoryTest {
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private long portfolioId;
+
+    @BeforeEach
+    void setUp() {
+        portfolioId = portfolioRepository.save(Portfolio.builder().name("Generated").build()).getId();
+        save("AAPL", AssetType.STOCK, "10.0000", "150.00", "170.00");
+        save("BND", AssetType.BOND, "5.0000", "100.00", "90.00");
+        save("MSFT", AssetType.STOCK, "2.0000", "300.00", "420.00");
+        save("CASH", AssetType.CASH, "1000.0000", "1.00", null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void generatedColumns_followPriceUpdates() {
+        Asset bond = assetRepository.findAllByOrderByCurrentValueDescIdDesc(Limit.unlimited()).stream()
+                .filter(asset -> asset.getSymbol().equals("BND"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(bond.getCurrentValue()).isEqualByComparingTo("450");
+        assertThat(bond.getInvestedValue()).isEqualByComparingTo("500");
+        assertThat(bond.getUnrealizedGain()).isEqualByComparingTo("-50");
+
+        assetRepository.updateCurrentPrice(bond.getId(), new BigDecimal("130.00"));
+        entityManager.clear();
+
+        Asset updated = assetRepository.findById(bond.getId()).orElseThrow();
+        assertThat(updated.getCurrentValue()).isEqualByComparingTo("650");
+        assertThat(updated.getUnrealizedGain()).isEqualByComparingTo("150");
+    }
+
+    @Test
+    void findLockedByPortfolioIdAndSymbolIn_returnsRowsInIdOrder() {
+        assertThat(assetRepository.findLockedByPortfolioIdAndSymbolInOrderByIdAsc(portfolioId,
+                List.of("MSFT", "AAPL", "NONE")))
+                .extracting(Asset::getSymbol)
+                .containsExactly("AAPL", "MSFT");
+    }
+
+    @Test
+    void topByValueAndGain() {
+        assertThat(assetRepository.findAllByOrderByCurrentValueDescIdDesc(Limit.of(2)))
+                .extracting(Asset::getSymbol)
+                .containsExactly("AAPL", "MSFT");
+        assertThat(assetRepository.findAllByOrderByUnrealizedGainDescIdDesc(Limit.of(2)))
+                .extracting(Asset::getSymbol)
+                .containsExactly("MSFT", "AAPL");
+        assertThat(assetRepository.findByAssetTypeOrderByCurrentValueDescIdDesc(AssetType.STOCK, Limit.of(5)))
+                .extracting(Asset::getSymbol)
+                .containsExactly("AAPL", "MSFT");
+    }
+
+    @Test
+    void gainTiesResolveInScanDirection() {
+        save("MSFT2", AssetType.STOCK, "2.0000", "300.00", "420.00");
+        entityManager.flush();
+        List<Long> best = assetRepository.findIdsByGainDescInPortfolio(portfolioId, Limit.of(2));
+        List<Long> ascending = assetRepository.findIdsByGainAscInPortfolio(portfolioId, Limit.of(5));
+
+        assertThat(assetRepository.findAllById(best)).extracting(Asset::getSymbol)
+                .containsExactlyInAnyOrder("MSFT", "MSFT2");
+        assertThat(best.get(0)).isGreaterThan(best.get(1));
+        assertThat(ascending.subList(3, 5)).containsExactly(best.get(1), best.get(0));
+    }
+
+    @Test
+    void specifications_filterAndSortOnIndexedColumns() {
+        Specification<Asset> largeStocks = Specification.where(AssetSpecifications.hasType(AssetType.STOCK))
+                .and(AssetSpecifications.valueBetween(new BigDecimal("1000"), null));
+        List<Asset> stocks = assetRepository.findBy(largeStocks, q -> q.sortBy(Sort.by("symbol")).all());
+        assertThat(stocks)
+                .extracting(Asset::getSymbol)
+                .containsExactly("AAPL");
+
+        Specification<Asset> prefix = AssetSpecifications.symbolStartsWith("MS")
+                .and(AssetSpecifications.quantityBetween(null, new BigDecimal("2")));
+        assertThat(assetRepository.findAll(prefix)).extracting(Asset::getSymbol).containsExactly("MSFT");
+        assertThat(assetRepository.findAll(AssetSpecifications.symbolStartsWith("_"))).isEmpty();
+
+        // Percent gains: MSFT 40, AAPL 13.33, BND -10, CASH -100.
+        List<Asset> byGainPercent = assetRepository.findBy(AssetSpecifications.quantityBetween(BigDecimal.ONE, null),
+                q -> q.sortBy(Sort.by(Sort.Direction.DESC, "gainPercent")).limit(3).all());
+        assertThat(byGainPercent)
+                .extracting(Asset::getSymbol)
+                .containsExactly("MSFT", "AAPL", "BND");
+    }
+
+    @Test
+    void dashboardQueries_useGeneratedColumns() {
+        Map<AssetType, BigDecimal> totals = assetRepository.sumValueByTypeInPortfolio(portfolioId).stream()
+                .collect(Collectors.toMap(AssetTypeTotals::getAssetType, AssetTypeTotals::getTotalValue));
+
+        assertThat(totals.get(AssetType.STOCK)).isEqualByComparingTo("2540");
+        assertThat(totals.get(AssetType.CASH)).isEqualByComparingTo("0");
+        List<Long> worst = assetRepository.findIdsByGainAscInPortfolio(portfolioId, Limit.of(1));
+        assertThat(assetRepository.findById(worst.get(0)).orElseThrow().getSymbol()).isEqualTo("CASH");
+    }
+
+    private void save(String symbol, AssetType type, String quantity, String avgBuyPrice, String currentPrice) {
+        assetRepository.save(Asset.builder()
+                .portfolioId(portfolioId)
+                .symbol(symbol)
+                .name(symbol)
+                .assetType(type)
+                .quantity(new BigDecimal(quantity))
+                .avgBuyPrice(new BigDecimal(avgBuyPrice))
+                .currentPrice(currentPrice == null ? null : new BigDecimal(currentPrice))
+                .build());
+    }
+}
@@ -0,0 +1,79 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.portfolio.manager.config.CacheProperties;
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.CacheStatsDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+
+class AssetDtoCacheTest {
+
+    private final AssetDtoCache cache = new AssetDtoCache(new CacheProperties());
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void getList_countsHitsAndMisses() {
+        load(Optional.of(AssetType.STOCK));
+        load(Optional.of(AssetType.STOCK));
+
+        CacheStatsDTO stats = cache.stats().get("assetsByType");
+        assertThat(loads).hasValue(1);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onAssetChanged_invalidatesOnlyAffectedTypes() {
+        load(Optional.of(AssetType.STOCK));
+        load(Optional.of(AssetType.BOND));
+        load(Optional.empty());
+
+        Asset asset = Asset.builder().id(1L).assetType(AssetType.ETF).build();
+        cache.onAssetChanged(AssetChangedEvent.saved(AssetType.STOCK, asset));
+        loads.set(0);
+        load(Optional.of(AssetType.STOCK));
+        load(Optional.of(AssetType.BOND));
+        load(Optional.empty());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onPricesChanged_invalidatesChangedIds() {
+        cache.getById(1L, this::loadById);
+        cache.getById(2L, this::loadById);
+
+        cache.onPricesChanged(new AssetPricesChangedEvent(
+                List.of(new PriceChange(1L, 1L, AssetType.STOCK, new BigDecimal("10.00")))));
+        loads.set(0);
+        cache.getById(1L, this::loadById);
+        cache.getById(2L, this::loadById);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    private List<AssetDTO> load(Optional<AssetType> type) {
+        return cache.getList(type, () -> {
+            loads.incrementAndGet();
+            return List.of(AssetDTO.builder().assetType(type.orElse(AssetType.CASH)).build());
+        });
+    }
+
+    private AssetDTO loadById(Long id) {
+        loads.incrementAndGet();
+        return AssetDTO.builder().id(id).build();
+    }
+}
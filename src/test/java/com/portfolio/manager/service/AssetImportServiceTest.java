@@ -0,0 +1,175 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.portfolio.manager.config.ImportProperties;
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.BulkImportResultDTO;
+import com.portfolio.manager.exception.ResourceNotFoundException;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.PortfolioRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class AssetImportServiceTest {
+
+    @Mock
+    private AssetService assetService;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private PortfolioRepository portfolioRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PositionLedger positionLedger;
+
+    private AssetImportService assetImportService;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties properties = new ImportProperties();
+        properties.setBatchSize(2);
+        assetImportService = new AssetImportService(assetService, assetRepository, portfolioRepository, entityManager,
+                jdbcTemplate, transactionTemplate, Validation.buildDefaultValidatorFactory().getValidator(), properties,
+                eventPublisher, positionLedger);
+    }
+
+    @Test
+    void importCsv_upsertsBySymbolAndReportsBadRows() {
+        stubTransactions();
+        Asset existing = Asset.builder().id(7L).symbol("AAPL").assetType(AssetType.STOCK).build();
+        when(assetRepository.findLockedByPortfolioIdAndSymbolInOrderByIdAsc(eq(1L), anyCollection()))
+                .thenReturn(List.of(existing));
+
+        BulkImportResultDTO result = assetImportService.importCsv(1L, """
+                symbol,name,assetType,quantity,avgBuyPrice,currentPrice
+                AAPL,Apple,stock,10,150.00,170.00
+                XYZ,"Broken, Inc",WIDGET,1,1.00,
+                BND,Bond Fund,BOND,5,100.00,
+                """);
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getRow()).isEqualTo(3);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Invalid assetType: WIDGET");
+        verify(positionLedger).adjust(existing, new BigDecimal("10"), new BigDecimal("150.00"));
+        verify(entityManager).detach(existing);
+        verify(entityManager).persist(argThat((Asset asset) -> asset.getSymbol().equals("BND")));
+        verify(positionLedger).open(any(Asset.class), eq(new BigDecimal("5")), eq(new BigDecimal("100.00")));
+        verify(positionLedger).recordOpening(argThat(asset -> asset.getSymbol().equals("BND")));
+        // Only the existing asset is updated, and its stored price is left alone.
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> args) -> args.size() == 1
+                && args.get(0).length == 6 && args.get(0)[0].equals("Apple") && args.get(0)[5].equals(7L)));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void importAssets_validatesEachRow() {
+        stubTransactions();
+        AssetDTO valid = request("ETH", "2.0000");
+        AssetDTO invalid = request("BTC", "0");
+
+        BulkImportResultDTO result = assetImportService.importAssets(1L, List.of(invalid, valid));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getRow()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("quantity: Quantity must be greater than zero");
+    }
+
+    @Test
+    void importAssets_reportsFailedBatchWithoutAbortingOthers() {
+        stubTransactions();
+        doThrow(new DataIntegrityViolationException("duplicate")).doNothing().when(assetRepository).flush();
+
+        BulkImportResultDTO result = assetImportService.importAssets(1L,
+                List.of(request("A", "1"), request("B", "1"), request("C", "1")));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkImportResultDTO.RowError::getSymbol).containsExactly("A", "B");
+    }
+
+    @Test
+    void importAssets_rejectsRowsForOtherPortfolios() {
+        stubTransactions();
+        AssetDTO foreign = request("ETH", "1");
+        foreign.setPortfolioId(2L);
+
+        BulkImportResultDTO result = assetImportService.importAssets(1L, List.of(foreign, request("BTC", "1")));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkImportResultDTO.RowError::getSymbol).containsExactly("ETH");
+    }
+
+    @Test
+    void importAssets_unknownPortfolio() {
+        assertThatThrownBy(() -> assetImportService.importAssets(9L, List.of(request("BTC", "1"))))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Portfolio not found");
+    }
+
+    private void stubTransactions() {
+        when(portfolioRepository.existsById(1L)).thenReturn(true);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private AssetDTO request(String symbol, String quantity) {
+        return AssetDTO.builder()
+                .symbol(symbol)
+                .name(symbol)
+                .assetType(AssetType.CRYPTO)
+                .quantity(new BigDecimal(quantity))
+                .avgBuyPrice(new BigDecimal("100.00"))
+                .build();
+    }
+}
@@ -3,6 +3,10 @@ package com.portfolio.manager.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -12,15 +16,35 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import com.portfolio.manager.config.CacheProperties;
 import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.AssetPageDTO;
+import com.portfolio.manager.dto.AssetQueryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
 import com.portfolio.manager.exception.ResourceNotFoundException;
 import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetRanking;
+import com.portfolio.manager.model.AssetSort;
 import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.Portfolio;
+import com.portfolio.manager.repository.AssetKey;
 import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.PortfolioRepository;
+
+import jakarta.persistence.EntityManager;
 
 @ExtendWith(MockitoExtension.class)
 class AssetServiceTest {
@@ -28,6 +52,21 @@ class AssetServiceTest {
     @Mock
     private AssetRepository assetRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PortfolioRepository portfolioRepository;
+
+    @Mock
+    private PositionLedger positionLedger;
+
+    @Spy
+    private AssetDtoCache assetDtoCache = new AssetDtoCache(new CacheProperties());
+
     @InjectMocks
     private AssetService assetService;
 
@@ -52,6 +91,7 @@ class AssetServiceTest {
                 .currentPrice(new BigDecimal("170.00"))
                 .build();
 
+        when(portfolioRepository.existsById(Portfolio.DEFAULT_ID)).thenReturn(true);
         when(assetRepository.save(any(Asset.class))).thenReturn(saved);
 
         AssetDTO result = assetService.createAsset(request);
@@ -60,6 +100,9 @@ class AssetServiceTest {
         assertThat(result.getCurrentValue()).isEqualTo(new BigDecimal("1700.00"));
         assertThat(result.getInvestedValue()).isEqualTo(new BigDecimal("1500.00"));
         verify(assetRepository).save(any(Asset.class));
+        verify(positionLedger).open(any(Asset.class), eq(new BigDecimal("10.0000")), eq(new BigDecimal("150.00")));
+        verify(positionLedger).recordOpening(saved);
+        verify(eventPublisher).publishEvent(AssetChangedEvent.saved(null, saved));
     }
 
     @Test
@@ -71,15 +114,67 @@ class AssetServiceTest {
                 .quantity(new BigDecimal("10.0000"))
                 .avgBuyPrice(new BigDecimal("150.00"))
                 .currentPrice(new BigDecimal("170.00"))
+                .version(0L)
                 .build();
 
-        when(assetRepository.findById(99L)).thenReturn(Optional.empty());
+        when(assetRepository.findLockedById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> assetService.updateAsset(99L, request))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Asset not found");
     }
 
+    @Test
+    void updateAsset_staleVersionConflicts() {
+        Asset stored = bond(11L);
+        stored.setVersion(4L);
+        when(assetRepository.findLockedById(11L)).thenReturn(Optional.of(stored));
+        AssetDTO request = bondRequest().version(3L).build();
+
+        assertThatThrownBy(() -> assetService.updateAsset(11L, request))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(assetRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateAsset_requiresVersion() {
+        AssetDTO request = bondRequest().version(null).build();
+
+        assertThatThrownBy(() -> assetService.updateAsset(11L, request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Version is required to update an asset");
+        verify(assetRepository, never()).findLockedById(any());
+    }
+
+    @Test
+    void updateAsset_recordsPositionChangesInTheLedger() {
+        Asset stored = bond(11L);
+        stored.setLedgerSequence(1L);
+        when(assetRepository.findLockedById(11L)).thenReturn(Optional.of(stored));
+        when(assetRepository.saveAndFlush(stored)).thenReturn(stored);
+
+        assetService.updateAsset(11L, bondRequest().quantity(new BigDecimal("6.0000")).build());
+
+        verify(assetRepository, never()).findById(any());
+        verify(positionLedger).adjust(stored, new BigDecimal("6.0000"), new BigDecimal("100.00"));
+        verify(eventPublisher).publishEvent(AssetChangedEvent.saved(AssetType.BOND, stored));
+    }
+
+    @Test
+    void updatePrice_writesOnlyThePrice() {
+        AssetKey key = mock(AssetKey.class);
+        when(key.getPortfolioId()).thenReturn(1L);
+        when(key.getAssetType()).thenReturn(AssetType.BOND);
+        when(assetRepository.findKeyById(11L)).thenReturn(Optional.of(key));
+        when(assetRepository.updateCurrentPrice(11L, new BigDecimal("99.50"))).thenReturn(1);
+
+        assetService.updatePrice(11L, new BigDecimal("99.50"));
+
+        verify(assetRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new AssetPricesChangedEvent(
+                List.of(new PriceChange(11L, 1L, AssetType.BOND, new BigDecimal("99.50")))));
+    }
+
     @Test
     void getAssets_byType() {
         Asset asset = Asset.builder()
@@ -100,14 +195,108 @@ class AssetServiceTest {
         assertThat(assets.get(0).getSymbol()).isEqualTo("BND");
     }
 
+    @Test
+    void findAssets_typeOnlyUsesCachedList() {
+        when(assetRepository.findByAssetType(AssetType.BOND)).thenReturn(List.of(bond(11L)));
+
+        List<AssetDTO> assets = assetService.findAssets(AssetQueryDTO.builder().type(AssetType.BOND).build());
+
+        assertThat(assets).extracting(AssetDTO::getId).containsExactly(11L);
+        verify(assetRepository, never()).findBy(ArgumentMatchers.<Specification<Asset>>any(), any());
+    }
+
+    @Test
+    void findAssets_filteredRunsOneLimitedQuery() {
+        when(assetRepository.<Asset, List<Asset>>findBy(ArgumentMatchers.<Specification<Asset>>any(), any()))
+                .thenReturn(List.of(bond(12L), bond(11L)));
+
+        List<AssetDTO> assets = assetService.findAssets(AssetQueryDTO.builder()
+                .symbol("BN")
+                .sort(AssetSort.GAIN_PERCENT)
+                .build());
+
+        assertThat(assets).extracting(AssetDTO::getId).containsExactly(12L, 11L);
+        verify(assetRepository, never()).findAll();
+    }
+
+    @Test
+    void sortOf_breaksTiesOnIdInTheSortDirection() {
+        assertThat(AssetService.sortOf(AssetQueryDTO.builder().sort(AssetSort.VALUE).build()))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "currentValue", "id"));
+        assertThat(AssetService.sortOf(AssetQueryDTO.builder()
+                .sort(AssetSort.GAIN)
+                .direction(Sort.Direction.ASC)
+                .build()))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "unrealizedGain", "id"));
+        assertThat(AssetService.sortOf(AssetQueryDTO.builder().direction(Sort.Direction.DESC).build()))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    @Test
+    void findAssets_invertedRangeRejected() {
+        AssetQueryDTO query = AssetQueryDTO.builder()
+                .minValue(new BigDecimal("500"))
+                .maxValue(new BigDecimal("100"))
+                .build();
+
+        assertThatThrownBy(() -> assetService.findAssets(query))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Minimum value cannot exceed maximum value");
+    }
+
+    @Test
+    void getTopAssets_byGainWithinType() {
+        when(assetRepository.findByAssetTypeOrderByUnrealizedGainDescIdDesc(AssetType.BOND, Limit.of(3)))
+                .thenReturn(List.of(bond(11L), bond(12L)));
+
+        List<AssetDTO> top = assetService.getTopAssets(AssetRanking.GAIN, Optional.of(AssetType.BOND), 3);
+
+        assertThat(top).extracting(AssetDTO::getId).containsExactly(11L, 12L);
+        verify(assetRepository, never()).findAllByOrderByCurrentValueDescIdDesc(any());
+    }
+
+    @Test
+    void getAssetById_servedFromCacheOnRepeat() {
+        when(assetRepository.findById(11L)).thenReturn(Optional.of(bond(11L)));
+
+        assetService.getAssetById(11L);
+        AssetDTO cached = assetService.getAssetById(11L);
+
+        assertThat(cached.getCurrentValue()).isEqualTo(new BigDecimal("550.00"));
+        verify(assetRepository, times(1)).findById(11L);
+    }
+
+    @Test
+    void getAssetPage_returnsCursorWhenMoreRowsExist() {
+        when(assetRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3)))
+                .thenReturn(List.of(bond(11L), bond(12L), bond(13L)));
+
+        AssetPageDTO page = assetService.getAssetPage(Optional.empty(), 10L, 2);
+
+        assertThat(page.getItems()).extracting(AssetDTO::getId).containsExactly(11L, 12L);
+        assertThat(page.getNextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void getAssetPage_lastPageHasNoCursor() {
+        when(assetRepository.findByAssetTypeAndIdGreaterThanOrderByIdAsc(AssetType.BOND, 0L, Limit.of(3)))
+                .thenReturn(List.of(bond(1L)));
+
+        AssetPageDTO page = assetService.getAssetPage(Optional.of(AssetType.BOND), 0L, 2);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
     @Test
     void deleteAsset_success() {
-        Asset asset = Asset.builder().id(1L).build();
+        Asset asset = Asset.builder().id(1L).portfolioId(1L).build();
         when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
 
         assetService.deleteAsset(1L);
 
         verify(assetRepository).delete(asset);
+        verify(eventPublisher).publishEvent(AssetChangedEvent.deleted(1L, 1L, null));
     }
 
     @Test
@@ -118,4 +307,27 @@ class AssetServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Asset not found");
     }
+
+    private Asset bond(Long id) {
+        return Asset.builder()
+                .id(id)
+                .symbol("BND")
+                .name("Bond Fund")
+                .assetType(AssetType.BOND)
+                .quantity(new BigDecimal("5.0000"))
+                .avgBuyPrice(new BigDecimal("100.00"))
+                .currentPrice(new BigDecimal("110.00"))
+                .build();
+    }
+
+    private AssetDTO.AssetDTOBuilder bondRequest() {
+        return AssetDTO.builder()
+                .symbol("BND")
+                .name("Bond Fund")
+                .assetType(AssetType.BOND)
+                .quantity(new BigDecimal("5.0000"))
+                .avgBuyPrice(new BigDecimal("100.00"))
+                .currentPrice(new BigDecimal("110.00"))
+                .version(0L);
+    }
 }
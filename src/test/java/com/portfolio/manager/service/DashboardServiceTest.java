@@ -0,0 +1,143 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import com.portfolio.manager.config.CacheProperties;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+import com.portfolio.manager.repository.AssetTypeTotals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private PortfolioAggregate portfolioAggregate;
+
+    @Spy
+    private PortfolioSummaryCache portfolioSummaryCache = new PortfolioSummaryCache(new CacheProperties());
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    void getPortfolioSummary_usesAggregateWhenAvailable() {
+        PortfolioSummaryDTO summary = PortfolioValuation.emptySummary();
+        when(portfolioAggregate.summary()).thenReturn(Optional.of(summary));
+
+        assertThat(dashboardService.getPortfolioSummary()).isSameAs(summary);
+        verify(assetRepository, never()).sumValueByType();
+    }
+
+    @Test
+    void getPortfolioSummary_aggregatesInDatabase() {
+        when(portfolioAggregate.summary()).thenReturn(Optional.empty());
+        when(assetRepository.sumValueByType()).thenReturn(List.of(
+                totals(AssetType.STOCK, 2, "1700.000000"),
+                totals(AssetType.BOND, 1, "450.000000")));
+        when(assetRepository.findIdsByGainDesc(any())).thenReturn(List.of(1L));
+        when(assetRepository.findIdsByGainAsc(any())).thenReturn(List.of(2L));
+        when(assetRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                asset(2L, "BND", AssetType.BOND, "5.0000", "100.00", "90.00"),
+                asset(1L, "AAPL", AssetType.STOCK, "10.0000", "150.00", "170.00")));
+
+        PortfolioSummaryDTO summary = dashboardService.getPortfolioSummary();
+
+        assertThat(summary.getTotalValue()).isEqualTo(new BigDecimal("2150.00"));
+        assertThat(summary.getAssetCount()).isEqualTo(3);
+        assertThat(summary.getBestPerformer().getSymbol()).isEqualTo("AAPL");
+        assertThat(summary.getWorstPerformer().getSymbol()).isEqualTo("BND");
+        assertThat(summary.getAllocationByType())
+                .containsEntry(AssetType.STOCK, new BigDecimal("79.07"))
+                .containsEntry(AssetType.BOND, new BigDecimal("20.93"));
+        for (String phase : List.of("aggregate", "totals", "performers", "assemble")) {
+            assertThat(meterRegistry.get(DashboardService.PHASE_TIMER).tag("phase", phase).timer().count())
+                    .as(phase)
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    void getPortfolioSummary_perPortfolioIsCachedUntilItsAssetsChange() {
+        when(assetRepository.sumValueByTypeInPortfolio(7L)).thenReturn(List.of(totals(AssetType.BOND, 1, "450.000000")));
+        when(assetRepository.findIdsByGainDescInPortfolio(eq(7L), any())).thenReturn(List.of(2L));
+        when(assetRepository.findIdsByGainAscInPortfolio(eq(7L), any())).thenReturn(List.of(2L));
+        when(assetRepository.findAllById(List.of(2L, 2L))).thenReturn(List.of(
+                asset(2L, "BND", AssetType.BOND, "5.0000", "100.00", "90.00")));
+
+        dashboardService.getPortfolioSummary(7L);
+        portfolioSummaryCache.onAssetChanged(AssetChangedEvent.deleted(3L, 8L, AssetType.STOCK));
+        PortfolioSummaryDTO summary = dashboardService.getPortfolioSummary(7L);
+        portfolioSummaryCache.onPricesChanged(new AssetPricesChangedEvent(
+                List.of(new PriceChange(2L, 7L, AssetType.BOND, new BigDecimal("91.00")))));
+        dashboardService.getPortfolioSummary(7L);
+
+        assertThat(summary.getTotalValue()).isEqualTo(new BigDecimal("450.00"));
+        assertThat(summary.getBestPerformer().getSymbol()).isEqualTo("BND");
+        verify(assetRepository, times(2)).sumValueByTypeInPortfolio(7L);
+        verify(portfolioAggregate, never()).summary();
+    }
+
+    @Test
+    void getPortfolioSummary_emptyTable() {
+        when(portfolioAggregate.summary()).thenReturn(Optional.empty());
+        when(assetRepository.sumValueByType()).thenReturn(List.of());
+
+        PortfolioSummaryDTO summary = dashboardService.getPortfolioSummary();
+
+        assertThat(summary.getAssetCount()).isZero();
+        assertThat(summary.getBestPerformer()).isNull();
+        verify(assetRepository, never()).findIdsByGainDesc(any());
+    }
+
+    private AssetTypeTotals totals(AssetType type, long count, String value) {
+        return new SpelAwareProxyProjectionFactory().createProjection(AssetTypeTotals.class,
+                Map.of("assetType", type, "assetCount", count, "totalValue", new BigDecimal(value)));
+    }
+
+    private Asset asset(Long id, String symbol, AssetType type, String quantity, String avgBuyPrice,
+                        String currentPrice) {
+        return Asset.builder()
+                .id(id)
+                .portfolioId(1L)
+                .symbol(symbol)
+                .name(symbol)
+                .assetType(type)
+                .quantity(new BigDecimal(quantity))
+                .avgBuyPrice(new BigDecimal(avgBuyPrice))
+                .currentPrice(new BigDecimal(currentPrice))
+                .build();
+    }
+}
@@ -0,0 +1,234 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.portfolio.manager.config.DashboardProperties;
+import com.portfolio.manager.dto.AssetDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.dto.PortfolioSummaryDeltaDTO;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.model.AssetType;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardStreamServiceTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private DashboardStreamService dashboardStreamService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardStreamService = new DashboardStreamService(dashboardService, new DashboardProperties(), tasks::add);
+    }
+
+    @Test
+    void subscribe_sendsFullSummaryThenDeltas() {
+        when(dashboardService.getPortfolioSummary())
+                .thenReturn(summary("1000.00", "STOCK", "100.00"))
+                .thenReturn(summary("1200.00", "STOCK", "100.00"));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        dashboardStreamService.subscribe(emitter);
+        runTasks();
+        dashboardStreamService.onPricesChanged(new AssetPricesChangedEvent(List.of()));
+        dashboardStreamService.publish();
+        runTasks();
+
+        assertThat(emitter.events).hasSize(2);
+        assertThat(emitter.events.get(0)).isInstanceOf(PortfolioSummaryDTO.class);
+        PortfolioSummaryDeltaDTO delta = (PortfolioSummaryDeltaDTO) emitter.events.get(1);
+        assertThat(delta.getTotalValue()).isEqualTo(new BigDecimal("1200.00"));
+        assertThat(delta.getAllocationByType()).isNull();
+        assertThat(delta.getAssetCount()).isNull();
+    }
+
+    @Test
+    void publish_coalescesUpdatesForBusySubscriber() {
+        when(dashboardService.getPortfolioSummary())
+                .thenReturn(summary("1000.00", "STOCK", "100.00"))
+                .thenReturn(summary("1100.00", "STOCK", "100.00"))
+                .thenReturn(summary("1300.00", "BOND", "100.00"));
+        RecordingEmitter emitter = new RecordingEmitter();
+        dashboardStreamService.subscribe(emitter);
+
+        for (int i = 0; i < 2; i++) {
+            dashboardStreamService.onPricesChanged(new AssetPricesChangedEvent(List.of()));
+            dashboardStreamService.publish();
+        }
+        runTasks();
+
+        assertThat(tasks).isEmpty();
+        assertThat(emitter.events).hasSize(1);
+        assertThat(((PortfolioSummaryDTO) emitter.events.get(0)).getTotalValue()).isEqualTo(new BigDecimal("1300.00"));
+    }
+
+    @Test
+    void publish_skipsWhenNothingChanged() {
+        when(dashboardService.getPortfolioSummary()).thenReturn(summary("1000.00", "STOCK", "100.00"));
+        RecordingEmitter emitter = new RecordingEmitter();
+        dashboardStreamService.subscribe(emitter);
+        runTasks();
+
+        dashboardStreamService.publish();
+        dashboardStreamService.onPricesChanged(new AssetPricesChangedEvent(List.of()));
+        dashboardStreamService.publish();
+        runTasks();
+
+        assertThat(emitter.events).hasSize(1);
+    }
+
+    @Test
+    void publish_dropsSubscriberWhenSendFails() {
+        when(dashboardService.getPortfolioSummary()).thenReturn(summary("1000.00", "STOCK", "100.00"));
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+
+        dashboardStreamService.subscribe(emitter);
+        runTasks();
+
+        assertThat(dashboardStreamService.subscriberCount()).isZero();
+    }
+
+    @Test
+    void subscribe_dropsStalledClientsWithoutStarvingOthers() throws InterruptedException {
+        when(dashboardService.getPortfolioSummary()).thenReturn(summary("1000.00", "STOCK", "100.00"));
+        DashboardProperties properties = new DashboardProperties();
+        properties.setPushThreads(2);
+        properties.setSendTimeout(Duration.ofMillis(100));
+        DashboardStreamService service = new DashboardStreamService(dashboardService, properties);
+        try {
+            List<StalledEmitter> stalled = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                StalledEmitter emitter = new StalledEmitter();
+                stalled.add(emitter);
+                service.subscribe(emitter);
+            }
+            LatchEmitter fast = new LatchEmitter();
+            service.subscribe(fast);
+
+            assertThat(fast.sent.await(5, TimeUnit.SECONDS)).isTrue();
+            for (StalledEmitter emitter : stalled) {
+                assertThat(emitter.dropped.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+            assertThat(service.subscriberCount()).isEqualTo(1);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void delta_reportsChangedAndRemovedAllocations() {
+        PortfolioSummaryDTO previous = PortfolioSummaryDTO.builder()
+                .totalValue(new BigDecimal("100.00"))
+                .bestPerformer(AssetDTO.builder().id(1L).build())
+                .allocationByType(Map.of(AssetType.STOCK, new BigDecimal("50.00"), AssetType.BOND,
+                        new BigDecimal("50.00")))
+                .assetCount(2)
+                .build();
+        PortfolioSummaryDTO current = PortfolioSummaryDTO.builder()
+                .totalValue(new BigDecimal("100.0"))
+                .bestPerformer(AssetDTO.builder().id(2L).build())
+                .allocationByType(Map.of(AssetType.STOCK, new BigDecimal("50.00"), AssetType.ETF,
+                        new BigDecimal("50.00")))
+                .assetCount(2)
+                .build();
+
+        PortfolioSummaryDeltaDTO delta = DashboardStreamService.delta(previous, current);
+
+        assertThat(delta.getTotalValue()).isNull();
+        assertThat(delta.getBestPerformer().getId()).isEqualTo(2L);
+        assertThat(delta.getAllocationByType()).containsOnlyKeys(AssetType.ETF);
+        assertThat(delta.getRemovedTypes()).isEqualTo(Set.of(AssetType.BOND));
+        assertThat(delta.getAssetCount()).isNull();
+        assertThat(DashboardStreamService.delta(current, current)).isNull();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private PortfolioSummaryDTO summary(String totalValue, String type, String percentage) {
+        return PortfolioSummaryDTO.builder()
+                .totalValue(new BigDecimal(totalValue))
+                .allocationByType(Map.of(AssetType.valueOf(type), new BigDecimal(percentage)))
+                .assetCount(1)
+                .build();
+    }
+
+    /**
+     * A client that stopped reading: the write blocks until the thread is interrupted.
+     */
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch dropped = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            super.completeWithError(ex);
+            dropped.countDown();
+        }
+    }
+
+    private static final class LatchEmitter extends SseEmitter {
+
+        private final CountDownLatch sent = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.countDown();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> events = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(data -> !(data instanceof String))
+                    .forEach(events::add);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class FixedPointTest {
+
+    @Test
+    void multiplyToMoney_matchesBigDecimalHalfUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal quantity = BigDecimal.valueOf(1 + random.nextLong(1_000_000_000L), 4);
+            BigDecimal price = BigDecimal.valueOf(random.nextLong(100_000_000L), 2);
+
+            BigDecimal expected = quantity.multiply(price).setScale(2, RoundingMode.HALF_UP);
+
+            assertThat(FixedPoint.multiplyToMoney(quantity, price)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void multiplyToMoney_acceptsSmallerScalesAndMissingPrice() {
+        assertThat(FixedPoint.multiplyToMoney(new BigDecimal("10"), new BigDecimal("1.5")))
+                .isEqualTo(new BigDecimal("15.00"));
+        assertThat(FixedPoint.multiplyToMoney(new BigDecimal("10.0000"), null))
+                .isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void multiplyToMoney_fallsBackOutsideLongRange() {
+        BigDecimal quantity = new BigDecimal("99999999999.9999");
+        BigDecimal price = new BigDecimal("9999999999999.99");
+
+        assertThat(FixedPoint.multiplyToMoney(quantity, price))
+                .isEqualTo(quantity.multiply(price).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void toCents_roundsHalfUpAwayFromZero() {
+        assertThat(FixedPoint.toCents(5_000)).isEqualTo(1);
+        assertThat(FixedPoint.toCents(4_999)).isEqualTo(0);
+        assertThat(FixedPoint.toCents(-5_000)).isEqualTo(-1);
+        assertThat(FixedPoint.toCents(-4_999)).isEqualTo(0);
+    }
+
+    @Test
+    void percentage_matchesBigDecimalDivide() {
+        SplittableRandom random = new SplittableRandom(11);
+        BigDecimal oneHundred = new BigDecimal("100");
+        for (int i = 0; i < 100_000; i++) {
+            long total = 1 + random.nextLong(Long.MAX_VALUE / 2);
+            long part = random.nextLong(total + 1);
+
+            BigDecimal expected = BigDecimal.valueOf(part, 6).multiply(oneHundred)
+                    .divide(BigDecimal.valueOf(total, 6), 2, RoundingMode.HALF_UP);
+
+            assertThat(FixedPoint.percentage(part, total)).isEqualTo(expected);
+        }
+        assertThat(FixedPoint.percentage(1, 8)).isEqualTo(new BigDecimal("12.50"));
+        assertThat(FixedPoint.percentage(1, 20_000)).isEqualTo(new BigDecimal("0.01"));
+        assertThat(FixedPoint.percentage(1, 20_001)).isEqualTo(new BigDecimal("0.00"));
+    }
+}
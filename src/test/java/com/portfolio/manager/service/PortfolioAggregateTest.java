@@ -0,0 +1,152 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.portfolio.manager.dto.PortfolioSummaryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PortfolioAggregateTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @InjectMocks
+    private PortfolioAggregate portfolioAggregate;
+
+    @Test
+    void summary_emptyUntilLoaded() {
+        assertThat(portfolioAggregate.summary()).isEmpty();
+    }
+
+    @Test
+    void summary_afterRebuild() {
+        stubAssets(List.of(
+                asset(1L, "AAPL", AssetType.STOCK, "10.0000", "150.00", "170.00"),
+                asset(2L, "BND", AssetType.BOND, "5.0000", "100.00", "90.00")));
+
+        portfolioAggregate.rebuild();
+        PortfolioSummaryDTO summary = portfolioAggregate.summary().orElseThrow();
+
+        assertThat(summary.getTotalValue()).isEqualTo(new BigDecimal("2150.00"));
+        assertThat(summary.getAssetCount()).isEqualTo(2);
+        assertThat(summary.getBestPerformer().getSymbol()).isEqualTo("AAPL");
+        assertThat(summary.getWorstPerformer().getSymbol()).isEqualTo("BND");
+        assertThat(summary.getAllocationByType())
+                .containsEntry(AssetType.STOCK, new BigDecimal("79.07"))
+                .containsEntry(AssetType.BOND, new BigDecimal("20.93"));
+    }
+
+    @Test
+    void onAssetChanged_updatesTotalsAndOrdering() {
+        stubAssets(List.of(
+                asset(1L, "AAPL", AssetType.STOCK, "10.0000", "150.00", "170.00"),
+                asset(2L, "BND", AssetType.BOND, "5.0000", "100.00", "90.00")));
+        portfolioAggregate.rebuild();
+
+        portfolioAggregate.onAssetChanged(AssetChangedEvent.saved(AssetType.BOND,
+                asset(2L, "BND", AssetType.ETF, "5.0000", "100.00", "200.00")));
+        portfolioAggregate.onAssetChanged(AssetChangedEvent.deleted(1L, 1L, AssetType.STOCK));
+        portfolioAggregate.onAssetChanged(AssetChangedEvent.saved(null,
+                asset(3L, "BTC", AssetType.CRYPTO, "1.0000", "500.00", "100.00")));
+        PortfolioSummaryDTO summary = portfolioAggregate.summary().orElseThrow();
+
+        assertThat(summary.getTotalValue()).isEqualTo(new BigDecimal("1100.00"));
+        assertThat(summary.getAssetCount()).isEqualTo(2);
+        assertThat(summary.getBestPerformer().getSymbol()).isEqualTo("BND");
+        assertThat(summary.getWorstPerformer().getSymbol()).isEqualTo("BTC");
+        assertThat(summary.getAllocationByType())
+                .containsOnlyKeys(AssetType.ETF, AssetType.CRYPTO)
+                .containsEntry(AssetType.ETF, new BigDecimal("90.91"));
+    }
+
+    @Test
+    void summary_tiesResolveInGainIndexOrder() {
+        stubAssets(List.of(
+                asset(1L, "AAA", AssetType.STOCK, "1.0000", "10.00", "10.00"),
+                asset(2L, "BBB", AssetType.STOCK, "1.0000", "10.00", "10.00")));
+
+        portfolioAggregate.rebuild();
+        PortfolioSummaryDTO summary = portfolioAggregate.summary().orElseThrow();
+
+        assertThat(summary.getBestPerformer().getId()).isEqualTo(2L);
+        assertThat(summary.getWorstPerformer().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void snapshot_reflectsPriceChangesAndDeletes() {
+        stubAssets(List.of(
+                asset(1L, "AAPL", AssetType.STOCK, "10.0000", "150.00", "170.00"),
+                asset(2L, "BND", AssetType.BOND, "5.0000", "100.00", "90.00"),
+                asset(3L, "BTC", AssetType.CRYPTO, "1.0000", "500.00", "100.00")));
+        portfolioAggregate.rebuild();
+
+        portfolioAggregate.onPricesChanged(new AssetPricesChangedEvent(
+                List.of(new PriceChange(2L, 1L, AssetType.BOND, new BigDecimal("120.00")))));
+        portfolioAggregate.onAssetChanged(AssetChangedEvent.deleted(1L, 1L, AssetType.STOCK));
+        HoldingsSnapshot snapshot = portfolioAggregate.snapshot().orElseThrow();
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.id(0)).isEqualTo(3L);
+        assertThat(snapshot.id(1)).isEqualTo(2L);
+        assertThat(snapshot.toDto(1).getCurrentValue()).isEqualTo(new BigDecimal("600.00"));
+        assertThat(portfolioAggregate.summary().orElseThrow().getBestPerformer().getSymbol()).isEqualTo("BND");
+    }
+
+    @Test
+    void overflow_disablesUntilARetriedRebuildFits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        portfolioAggregate.bindTo(registry);
+        stubAssets(List.of(asset(1L, "AAPL", AssetType.STOCK, "10000000000.0000", "150.00", "170.00")));
+        portfolioAggregate.rebuild();
+
+        portfolioAggregate.onPricesChanged(new AssetPricesChangedEvent(
+                List.of(new PriceChange(1L, 1L, AssetType.STOCK, new BigDecimal("99999999.00")))));
+
+        assertThat(portfolioAggregate.summary()).isEmpty();
+        assertThat(registry.get(PortfolioAggregate.DISABLED_METRIC).gauge().value()).isEqualTo(1.0);
+
+        stubAssets(List.of(asset(1L, "AAPL", AssetType.STOCK, "10.0000", "150.00", "170.00")));
+        portfolioAggregate.retryIfDisabled();
+
+        assertThat(portfolioAggregate.summary().orElseThrow().getTotalValue()).isEqualTo(new BigDecimal("1700.00"));
+        assertThat(registry.get(PortfolioAggregate.DISABLED_METRIC).gauge().value()).isZero();
+    }
+
+    private void stubAssets(List<Asset> assets) {
+        when(assetRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(assets);
+    }
+
+    private Asset asset(Long id, String symbol, AssetType type, String quantity, String avgBuyPrice,
+                        String currentPrice) {
+        return Asset.builder()
+                .id(id)
+                .portfolioId(1L)
+                .symbol(symbol)
+                .name(symbol)
+                .assetType(type)
+                .quantity(new BigDecimal(quantity))
+                .avgBuyPrice(new BigDecimal(avgBuyPrice))
+                .currentPrice(new BigDecimal(currentPrice))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.portfolio.manager.config.ScenarioProperties;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+
+class PortfolioReducerTest {
+
+    @Test
+    void reduce_parallelMatchesSequential() {
+        HoldingsStore store = new HoldingsStore();
+        SplittableRandom random = new SplittableRandom(11);
+        for (long id = 1; id <= 20_000; id++) {
+            store.upsert(asset(id, AssetType.values()[random.nextInt(AssetType.values().length)],
+                    BigDecimal.valueOf(random.nextLong(1, 1_000_000), 4),
+                    BigDecimal.valueOf(random.nextLong(1, 50), 0),
+                    BigDecimal.valueOf(random.nextLong(1, 50), 0)));
+        }
+
+        PortfolioReducer.Partial sequential = reducer(Integer.MAX_VALUE).reduce(store);
+        PortfolioReducer.Partial parallel = reducer(0).reduce(store);
+
+        assertThat(parallel.count()).isEqualTo(20_000);
+        assertThat(parallel.totalValue()).isEqualTo(sequential.totalValue());
+        assertThat(parallel.valueByType()).containsExactly(sequential.valueByType());
+        assertThat(parallel.countByType()).containsExactly(sequential.countByType());
+        assertThat(parallel.bestIndex()).isEqualTo(sequential.bestIndex());
+        assertThat(parallel.worstIndex()).isEqualTo(sequential.worstIndex());
+    }
+
+    @Test
+    void reduce_tiesResolveToFirstIndex() {
+        HoldingsStore store = new HoldingsStore();
+        for (long id = 1; id <= 1_000; id++) {
+            store.upsert(asset(id, AssetType.STOCK, BigDecimal.ONE, BigDecimal.TEN, BigDecimal.TEN));
+        }
+
+        PortfolioReducer.Partial partial = reducer(0).reduce(store);
+
+        assertThat(partial.bestIndex()).isZero();
+        assertThat(partial.worstIndex()).isZero();
+    }
+
+    @Test
+    void reduce_overflowRaisesArithmeticException() {
+        HoldingsStore store = new HoldingsStore();
+        BigDecimal huge = new BigDecimal("90000000000000");
+        store.upsert(asset(1L, AssetType.STOCK, new BigDecimal("10000"), huge, huge));
+        store.upsert(asset(2L, AssetType.STOCK, new BigDecimal("10000"), huge, huge));
+
+        assertThatThrownBy(() -> reducer(0).reduce(store)).isInstanceOf(ArithmeticException.class);
+    }
+
+    private PortfolioReducer reducer(int parallelThreshold) {
+        ScenarioProperties properties = new ScenarioProperties();
+        properties.setParallelThreshold(parallelThreshold);
+        return new PortfolioReducer(properties);
+    }
+
+    private Asset asset(long id, AssetType type, BigDecimal quantity, BigDecimal avgBuyPrice, BigDecimal currentPrice) {
+        return Asset.builder()
+                .id(id)
+                .portfolioId(1L)
+                .symbol("S" + id)
+                .name("Asset " + id)
+                .assetType(type)
+                .quantity(quantity)
+                .avgBuyPrice(avgBuyPrice)
+                .currentPrice(currentPrice)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.portfolio.manager.config.LedgerProperties;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetTransaction;
+import com.portfolio.manager.model.PositionSnapshot;
+import com.portfolio.manager.model.TransactionType;
+import com.portfolio.manager.repository.AssetTransactionRepository;
+import com.portfolio.manager.repository.PositionSnapshotRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PositionLedgerTest {
+
+    @Mock
+    private AssetTransactionRepository transactionRepository;
+
+    @Mock
+    private PositionSnapshotRepository snapshotRepository;
+
+    private PositionLedger positionLedger;
+
+    @BeforeEach
+    void setUp() {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setSnapshotInterval(3);
+        positionLedger = new PositionLedger(transactionRepository, snapshotRepository, properties);
+    }
+
+    @Test
+    void append_buyUpdatesWeightedAverage() {
+        stubSave();
+        Asset asset = asset("10.0000", "100.00", 1);
+
+        positionLedger.append(asset, TransactionType.BUY, new BigDecimal("5"), new BigDecimal("130.00"));
+
+        assertThat(asset.getQuantity()).isEqualTo(new BigDecimal("15.0000"));
+        assertThat(asset.getAvgBuyPrice()).isEqualTo(new BigDecimal("110.00"));
+        assertThat(asset.getLedgerSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void append_sellKeepsAverageAndRejectsOverselling() {
+        stubSave();
+        Asset asset = asset("10.0000", "100.00", 1);
+
+        positionLedger.append(asset, TransactionType.SELL, new BigDecimal("4"), new BigDecimal("150.00"));
+
+        assertThat(asset.getQuantity()).isEqualTo(new BigDecimal("6.0000"));
+        assertThat(asset.getAvgBuyPrice()).isEqualTo(new BigDecimal("100.00"));
+        assertThatThrownBy(() -> positionLedger.append(asset, TransactionType.SELL, new BigDecimal("7"),
+                new BigDecimal("150.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(asset.getLedgerSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void append_recordsOpeningBalanceForPositionsPredatingTheLedger() {
+        stubSave();
+        Asset asset = asset("10.0000", "100.00", 0);
+
+        positionLedger.append(asset, TransactionType.BUY, new BigDecimal("10"), new BigDecimal("200.00"));
+
+        ArgumentCaptor<AssetTransaction> entries = ArgumentCaptor.forClass(AssetTransaction.class);
+        verify(transactionRepository, times(2)).save(entries.capture());
+        assertThat(entries.getAllValues()).extracting(AssetTransaction::getType)
+                .containsExactly(TransactionType.ADJUST, TransactionType.BUY);
+        assertThat(asset.getAvgBuyPrice()).isEqualTo(new BigDecimal("150.00"));
+        assertThat(asset.getLedgerSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void append_snapshotsEveryInterval() {
+        stubSave();
+        Asset asset = asset("10.0000", "100.00", 2);
+
+        positionLedger.append(asset, TransactionType.BUY, new BigDecimal("10"), new BigDecimal("200.00"));
+
+        ArgumentCaptor<PositionSnapshot> snapshot = ArgumentCaptor.forClass(PositionSnapshot.class);
+        verify(snapshotRepository).save(snapshot.capture());
+        assertThat(snapshot.getValue().getSequence()).isEqualTo(3);
+        assertThat(snapshot.getValue().getQuantity()).isEqualTo(new BigDecimal("20.0000"));
+    }
+
+    @Test
+    void adjust_skipsUnchangedPosition() {
+        positionLedger.adjust(asset("10.0000", "100.00", 4), new BigDecimal("10"), new BigDecimal("100"));
+
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void replay_startsFromLatestSnapshot() {
+        when(snapshotRepository.findById(1L)).thenReturn(Optional.of(PositionSnapshot.builder()
+                .assetId(1L).sequence(3).quantity(new BigDecimal("20.0000")).avgBuyPrice(new BigDecimal("150.00"))
+                .build()));
+        when(transactionRepository.findByAssetIdAndSequenceGreaterThanOrderBySequenceAsc(eq(1L), eq(3L), any()))
+                .thenReturn(List.of(
+                        entry(4, TransactionType.SELL, "5", "300.00"),
+                        entry(5, TransactionType.BUY, "15", "50.00")));
+
+        Position position = positionLedger.replay(1L);
+
+        assertThat(position.quantity()).isEqualTo(new BigDecimal("30.0000"));
+        assertThat(position.avgBuyPrice()).isEqualTo(new BigDecimal("100.00"));
+    }
+
+    private void stubSave() {
+        when(transactionRepository.save(any(AssetTransaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private Asset asset(String quantity, String avgBuyPrice, long ledgerSequence) {
+        return Asset.builder()
+                .id(1L)
+                .quantity(new BigDecimal(quantity))
+                .avgBuyPrice(new BigDecimal(avgBuyPrice))
+                .ledgerSequence(ledgerSequence)
+                .build();
+    }
+
+    private AssetTransaction entry(long sequence, TransactionType type, String quantity, String price) {
+        return AssetTransaction.builder()
+                .assetId(1L)
+                .sequence(sequence)
+                .type(type)
+                .quantity(new BigDecimal(quantity))
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
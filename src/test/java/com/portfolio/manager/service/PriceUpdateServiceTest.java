@@ -0,0 +1,153 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.portfolio.manager.config.PriceRefreshProperties;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.model.AssetType;
+
+@ExtendWith(MockitoExtension.class)
+class PriceUpdateServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PriceSource priceSource;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batch;
+
+    private PriceUpdateService priceUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        PriceRefreshProperties properties = new PriceRefreshProperties();
+        properties.setBatchSize(2);
+        priceUpdateService = new PriceUpdateService(jdbcTemplate, transactionTemplate, priceSource, properties,
+                eventPublisher, Runnable::run);
+    }
+
+    @Test
+    void refreshPrices_coalescesSymbolsAndBatchesWrites() throws Exception {
+        stubPages(
+                List.of(row(1L, "AAPL", "STOCK", "100.00"), row(2L, "AAPL", "STOCK", "100.00")),
+                List.of(row(3L, "BTC", "CRYPTO", "50.00"), row(4L, "AAPL", "STOCK", "101.00")),
+                List.of());
+        when(priceSource.fetchQuotes(Map.of("AAPL", new BigDecimal("100.00")))).thenReturn(Map.of("AAPL", new BigDecimal("101.00")));
+        when(priceSource.fetchQuotes(Map.of("BTC", new BigDecimal("50.00")))).thenReturn(Map.of("BTC", new BigDecimal("50.00")));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        String message = priceUpdateService.refreshPrices();
+
+        assertThat(message).isEqualTo("Price refresh completed: 2 of 4 assets updated");
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).extracting(args -> args[1]).containsExactly(1L, 2L);
+        verify(eventPublisher).publishEvent(new AssetPricesChangedEvent(List.of(
+                new PriceChange(1L, 1L, AssetType.STOCK, new BigDecimal("101.00")),
+                new PriceChange(2L, 1L, AssetType.STOCK, new BigDecimal("101.00")))));
+    }
+
+    @Test
+    void refreshPrices_skipsSymbolsWithoutQuotes() throws Exception {
+        stubPages(List.of(row(1L, "XYZ", "STOCK", "10.00")), List.of());
+        when(priceSource.fetchQuotes(Map.of("XYZ", new BigDecimal("10.00")))).thenReturn(Map.of());
+
+        String message = priceUpdateService.refreshPrices();
+
+        assertThat(message).isEqualTo("Price refresh completed: 0 of 1 assets updated");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void refreshPrices_fetchesQuoteChunksConcurrently() throws Exception {
+        PriceRefreshProperties properties = new PriceRefreshProperties();
+        properties.setBatchSize(2);
+        properties.setQuoteBatchSize(1);
+        properties.setFetchConcurrency(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        priceUpdateService = new PriceUpdateService(jdbcTemplate, transactionTemplate, priceSource, properties,
+                eventPublisher, executor);
+        stubPages(List.of(row(1L, "AAPL", "STOCK", "10.00"), row(2L, "BND", "BOND", "10.00")), List.of());
+        // Each fetch waits for the other, so the refresh only completes if both run at the same time.
+        CyclicBarrier bothFetching = new CyclicBarrier(2);
+        when(priceSource.fetchQuotes(anyMap())).thenAnswer(invocation -> {
+            bothFetching.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+
+        try {
+            assertThat(priceUpdateService.refreshPrices()).isEqualTo("Price refresh completed: 0 of 2 assets updated");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void stubPages(List<ResultSet>... pages) {
+        List<List<ResultSet>> remaining = new ArrayList<>(List.of(pages));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), eq(2))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> mapped = new ArrayList<>();
+            for (ResultSet rs : remaining.remove(0)) {
+                mapped.add(mapper.mapRow(rs, mapped.size()));
+            }
+            return mapped;
+        });
+    }
+
+    private ResultSet row(Long id, String symbol, String type, String price) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getLong("portfolio_id")).thenReturn(1L);
+        when(rs.getString("symbol")).thenReturn(symbol);
+        when(rs.getString("asset_type")).thenReturn(type);
+        when(rs.getBigDecimal("current_price")).thenReturn(new BigDecimal(price));
+        return rs;
+    }
+}
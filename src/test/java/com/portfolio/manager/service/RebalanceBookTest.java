@@ -0,0 +1,168 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.portfolio.manager.dto.RebalancePlanDTO;
+import com.portfolio.manager.dto.RebalanceTargetsDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.TransactionType;
+
+class RebalanceBookTest {
+
+    @Test
+    void withinBands_noTrades() {
+        RebalanceBook book = book(Map.of(AssetType.STOCK, "60", AssetType.BOND, "40"));
+        book.upsert(asset(1L, "AAPL", AssetType.STOCK, "62.0000", "100.00"));
+        book.upsert(asset(2L, "BND", AssetType.BOND, "76.0000", "50.00"));
+
+        RebalancePlanDTO plan = book.plan(1L);
+
+        assertThat(plan.isWithinTolerance()).isTrue();
+        assertThat(plan.getTrades()).isEmpty();
+        assertThat(plan.getAllocations()).extracting(RebalancePlanDTO.Allocation::getAssetType,
+                        RebalancePlanDTO.Allocation::getCurrentWeight)
+                .containsExactly(tuple(AssetType.STOCK, new BigDecimal("62.00")),
+                        tuple(AssetType.BOND, new BigDecimal("38.00")));
+    }
+
+    @Test
+    void drift_tradesToBandEdges() {
+        RebalanceBook book = book(Map.of(AssetType.STOCK, "60", AssetType.BOND, "40"));
+        book.upsert(asset(1L, "AAPL", AssetType.STOCK, "80.0000", "100.00"));
+        book.upsert(asset(2L, "BND", AssetType.BOND, "40.0000", "50.00"));
+
+        RebalancePlanDTO plan = book.plan(1L);
+
+        // Stocks down to 65% and bonds up to 35%, not all the way to the targets.
+        assertThat(plan.isWithinTolerance()).isFalse();
+        assertThat(plan.getTrades()).extracting(RebalancePlanDTO.Trade::getAssetId, RebalancePlanDTO.Trade::getSide,
+                        RebalancePlanDTO.Trade::getQuantity)
+                .containsExactly(tuple(1L, TransactionType.SELL, new BigDecimal("15.0000")),
+                        tuple(2L, TransactionType.BUY, new BigDecimal("30.0000")));
+        assertThat(plan.getTurnover()).isEqualByComparingTo("1500");
+    }
+
+    @Test
+    void imbalance_goesToTheBucketFurthestBelowTarget() {
+        RebalanceBook book = book(Map.of(AssetType.STOCK, "60", AssetType.BOND, "30", AssetType.CASH, "10"));
+        book.upsert(asset(1L, "AAPL", AssetType.STOCK, "70.0000", "100.00"));
+        book.upsert(asset(2L, "BND", AssetType.BOND, "28.0000", "100.00"));
+        book.upsert(asset(3L, "USD", AssetType.CASH, "200.0000", "1.00"));
+
+        RebalancePlanDTO plan = book.plan(1L);
+
+        // Selling 500 of stock pays for the 300 cash must buy, and the other 200 goes to cash as well.
+        assertThat(plan.getTrades()).extracting(RebalancePlanDTO.Trade::getAssetId, RebalancePlanDTO.Trade::getValue)
+                .containsExactly(tuple(1L, new BigDecimal("500.00")), tuple(3L, new BigDecimal("500.00")));
+    }
+
+    @Test
+    void symbolWeight_isCarvedOutOfItsType() {
+        RebalanceTargetsDTO targets = targets(Map.of(AssetType.STOCK, "100"));
+        targets.setSymbolWeights(Map.of("AAPL", new BigDecimal("20")));
+        targets.setTolerance(new BigDecimal("1"));
+        RebalanceBook book = new RebalanceBook(targets);
+        book.upsert(asset(1L, "AAPL", AssetType.STOCK, "50.0000", "100.00"));
+        book.upsert(asset(2L, "MSFT", AssetType.STOCK, "50.0000", "100.00"));
+
+        RebalancePlanDTO plan = book.plan(1L);
+
+        assertThat(plan.getAllocations()).extracting(RebalancePlanDTO.Allocation::getSymbol,
+                        RebalancePlanDTO.Allocation::getTargetWeight)
+                .containsExactly(tuple(null, new BigDecimal("80.00")), tuple("AAPL", new BigDecimal("20.00")));
+        assertThat(plan.getTrades()).extracting(RebalancePlanDTO.Trade::getSymbol, RebalancePlanDTO.Trade::getSide,
+                        RebalancePlanDTO.Trade::getQuantity)
+                .containsExactly(tuple("AAPL", TransactionType.SELL, new BigDecimal("29.0000")),
+                        tuple("MSFT", TransactionType.BUY, new BigDecimal("29.0000")));
+    }
+
+    @Test
+    void priceTick_updatesThePlanIncrementally() {
+        RebalanceBook book = book(Map.of(AssetType.STOCK, "50", AssetType.CRYPTO, "50"));
+        book.upsert(asset(1L, "AAPL", AssetType.STOCK, "10.0000", "100.00"));
+        book.upsert(asset(2L, "BTC", AssetType.CRYPTO, "1.0000", "1000.00"));
+        assertThat(book.plan(1L).isWithinTolerance()).isTrue();
+
+        book.setPrice(2L, new BigDecimal("3000.00"));
+        RebalancePlanDTO plan = book.plan(1L);
+
+        assertThat(plan.getTotalValue()).isEqualByComparingTo("4000");
+        assertThat(plan.getTrades()).extracting(RebalancePlanDTO.Trade::getSymbol, RebalancePlanDTO.Trade::getSide)
+                .containsExactly(tuple("AAPL", TransactionType.BUY), tuple("BTC", TransactionType.SELL));
+
+        book.remove(2L);
+        assertThat(book.plan(1L).getTotalValue()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void priceTicks_leaveNoDriftInBucketValues() {
+        RebalanceBook book = book(Map.of(AssetType.STOCK, "50", AssetType.CRYPTO, "50"));
+        book.upsert(asset(1L, "AAPL", AssetType.STOCK, "3.0000", "0.37"));
+        book.upsert(asset(2L, "BTC", AssetType.CRYPTO, "100000000.0000", "50000.00"));
+        for (int tick = 0; tick < 10_000; tick++) {
+            book.setPrice(2L, BigDecimal.valueOf(4_999_999 - tick % 97, 2));
+        }
+        book.remove(2L);
+
+        RebalancePlanDTO plan = book.plan(1L);
+
+        assertThat(plan.getTotalValue()).isEqualTo(new BigDecimal("1.11"));
+        assertThat(plan.getAllocations()).extracting(RebalancePlanDTO.Allocation::getAssetType,
+                        RebalancePlanDTO.Allocation::getCurrentWeight)
+                .containsExactly(tuple(AssetType.STOCK, new BigDecimal("100.00")),
+                        tuple(AssetType.CRYPTO, new BigDecimal("0.00")));
+    }
+
+    @Test
+    void unreachableTarget_tradesNothingOneSided() {
+        RebalanceBook book = book(Map.of(AssetType.STOCK, "50", AssetType.CRYPTO, "50"));
+        book.upsert(asset(1L, "AAPL", AssetType.STOCK, "100.0000", "100.00"));
+
+        RebalancePlanDTO plan = book.plan(1L);
+
+        assertThat(plan.isWithinTolerance()).isFalse();
+        assertThat(plan.getTrades()).isEmpty();
+        assertThat(plan.getAllocations()).filteredOn(allocation -> allocation.getAssetType() == AssetType.CRYPTO)
+                .extracting(RebalancePlanDTO.Allocation::isReachable)
+                .containsExactly(false);
+    }
+
+    @Test
+    void weightsMustAddUpTo100() {
+        assertThatThrownBy(() -> book(Map.of(AssetType.STOCK, "60", AssetType.BOND, "30")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Type weights must add up to 100");
+    }
+
+    private static RebalanceBook book(Map<AssetType, String> weights) {
+        return new RebalanceBook(targets(weights));
+    }
+
+    private static RebalanceTargetsDTO targets(Map<AssetType, String> weights) {
+        Map<AssetType, BigDecimal> typeWeights = new EnumMap<>(AssetType.class);
+        weights.forEach((type, weight) -> typeWeights.put(type, new BigDecimal(weight)));
+        return RebalanceTargetsDTO.builder().typeWeights(typeWeights).build();
+    }
+
+    private static Asset asset(long id, String symbol, AssetType type, String quantity, String price) {
+        return Asset.builder()
+                .id(id)
+                .portfolioId(1L)
+                .symbol(symbol)
+                .name(symbol)
+                .assetType(type)
+                .quantity(new BigDecimal(quantity))
+                .avgBuyPrice(new BigDecimal("1.00"))
+                .currentPrice(new BigDecimal(price))
+                .build();
+    }
+}
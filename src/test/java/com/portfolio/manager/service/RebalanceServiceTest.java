@@ -0,0 +1,95 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.portfolio.manager.dto.RebalancePlanDTO;
+import com.portfolio.manager.dto.RebalanceTargetsDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent;
+import com.portfolio.manager.event.AssetPricesChangedEvent.PriceChange;
+import com.portfolio.manager.exception.ResourceNotFoundException;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RebalanceServiceTest {
+
+    private static final RebalanceTargetsDTO TARGETS = RebalanceTargetsDTO.builder()
+            .typeWeights(Map.of(AssetType.STOCK, new BigDecimal("50"), AssetType.BOND, new BigDecimal("50")))
+            .build();
+
+    @Mock
+    private PortfolioAggregate portfolioAggregate;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @InjectMocks
+    private RebalanceService rebalanceService;
+
+    @Test
+    void setTargets_loadsOnlyThatPortfolio() {
+        HoldingsStore store = new HoldingsStore();
+        store.upsert(asset(1L, 1L, AssetType.STOCK, "100.00"));
+        store.upsert(asset(2L, 1L, AssetType.BOND, "100.00"));
+        store.upsert(asset(3L, 2L, AssetType.STOCK, "900.00"));
+        when(portfolioAggregate.snapshot()).thenReturn(Optional.of(store.snapshot()));
+
+        RebalancePlanDTO plan = rebalanceService.setTargets(1L, TARGETS);
+
+        assertThat(plan.getTotalValue()).isEqualByComparingTo("2000");
+        assertThat(plan.isWithinTolerance()).isTrue();
+    }
+
+    @Test
+    void getPlan_followsPriceAndAssetChanges() {
+        when(portfolioAggregate.snapshot()).thenReturn(Optional.empty());
+        when(assetRepository.findByPortfolioIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(1000)))
+                .thenReturn(List.of(asset(1L, 1L, AssetType.STOCK, "100.00"), asset(2L, 1L, AssetType.BOND, "100.00")));
+        rebalanceService.setTargets(1L, TARGETS);
+
+        rebalanceService.onPricesChanged(new AssetPricesChangedEvent(List.of(
+                new PriceChange(1L, 1L, AssetType.STOCK, new BigDecimal("300.00")),
+                new PriceChange(7L, 2L, AssetType.STOCK, new BigDecimal("1.00")))));
+        RebalancePlanDTO afterTick = rebalanceService.getPlan(1L);
+
+        assertThat(afterTick.getTotalValue()).isEqualByComparingTo("4000");
+        assertThat(afterTick.getTrades()).hasSize(2);
+
+        rebalanceService.onAssetChanged(AssetChangedEvent.saved(null, asset(4L, 1L, AssetType.BOND, "200.00")));
+        assertThat(rebalanceService.getPlan(1L).isWithinTolerance()).isTrue();
+    }
+
+    @Test
+    void getPlan_withoutTargets() {
+        assertThatThrownBy(() -> rebalanceService.getPlan(1L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static Asset asset(long id, long portfolioId, AssetType type, String price) {
+        return Asset.builder()
+                .id(id)
+                .portfolioId(portfolioId)
+                .symbol("S" + id)
+                .name("S" + id)
+                .assetType(type)
+                .quantity(new BigDecimal("10.0000"))
+                .avgBuyPrice(new BigDecimal("1.00"))
+                .currentPrice(new BigDecimal(price))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.portfolio.manager.config.RiskProperties;
+
+class RiskEngineTest {
+
+    private final RiskEngine riskEngine = new RiskEngine(new RiskProperties());
+
+    @Test
+    void cholesky_reproducesCovarianceAndSkipsUnheldTypes() {
+        double[][] covariance = {{4, 2, 0}, {2, 10, 0}, {0, 0, 0}};
+
+        double[][] factor = RiskEngine.cholesky(covariance);
+
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                double product = 0;
+                for (int k = 0; k < 3; k++) {
+                    product += factor[row][k] * factor[column][k];
+                }
+                assertThat(product).isCloseTo(covariance[row][column], within(1e-9));
+            }
+        }
+        assertThat(factor[2]).containsOnly(0.0);
+    }
+
+    @Test
+    void historicalVar_isTheObservedTailLoss() {
+        double[][] pnl = {{-50, -10, 0, 10, 20, 30, 40, 50, 60, -30}};
+
+        RiskEngine.Result result = riskEngine.evaluate(pnl, 0.9, 4, 10_000, 1L);
+
+        // One day in ten is in the 10% tail: the 50 loss, scaled by sqrt(4).
+        assertThat(result.historicalVar()).isEqualTo(100.0);
+    }
+
+    @Test
+    void monteCarlo_matchesNormalQuantileAndSplitsShortfallByType() {
+        SplittableRandom random = new SplittableRandom(7);
+        double[][] pnl = new double[2][2000];
+        for (int day = 0; day < 2000; day++) {
+            double market = random.nextGaussian();
+            pnl[0][day] = 100 * market;
+            pnl[1][day] = 50 * (0.5 * market + random.nextGaussian());
+        }
+        double[][] covariance = RiskEngine.covariance(pnl);
+        double sigma = Math.sqrt(covariance[0][0] + 2 * covariance[0][1] + covariance[1][1]);
+
+        RiskEngine.Result result = riskEngine.evaluate(pnl, 0.99, 1, 200_000, 42L);
+
+        assertThat(result.dailyVolatility()).isCloseTo(sigma, within(1e-9));
+        assertThat(result.monteCarloVar()).isCloseTo(2.3263 * sigma, within(0.02 * sigma));
+        assertThat(result.expectedShortfall()).isCloseTo(2.6652 * sigma, within(0.02 * sigma));
+        assertThat(Arrays.stream(result.shortfallByType()).sum())
+                .isCloseTo(result.expectedShortfall(), within(1e-6));
+        assertThat(result.shortfallByType()[0]).isGreaterThan(result.shortfallByType()[1]);
+    }
+
+    @Test
+    void sameSeed_givesSameResult() {
+        double[][] pnl = {{-5, 3, 1, -2, 4}, {1, -1, 2, 0, -3}};
+
+        RiskEngine.Result first = riskEngine.evaluate(pnl, 0.95, 10, 50_000, 9L);
+        RiskEngine.Result second = riskEngine.evaluate(pnl, 0.95, 10, 50_000, 9L);
+
+        assertThat(second.monteCarloVar()).isEqualTo(first.monteCarloVar());
+        assertThat(second.shortfallByType()).containsExactly(first.shortfallByType());
+    }
+}
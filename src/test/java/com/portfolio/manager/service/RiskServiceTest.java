@@ -0,0 +1,147 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.portfolio.manager.config.RiskProperties;
+import com.portfolio.manager.dto.RiskQueryDTO;
+import com.portfolio.manager.dto.RiskReportDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RiskServiceTest {
+
+    private static final RiskQueryDTO QUERY = RiskQueryDTO.builder().paths(10_000).seed(3L).build();
+
+    @Mock
+    private PortfolioAggregate portfolioAggregate;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private ValuationHistory valuationHistory;
+
+    private RiskService riskService;
+
+    @BeforeEach
+    void setUp() {
+        RiskProperties properties = new RiskProperties();
+        properties.setLookbackDays(3);
+        riskService = new RiskService(portfolioAggregate, assetRepository, valuationHistory,
+                new RiskEngine(properties), properties);
+    }
+
+    @Test
+    void getRisk_appliesReturnsToCurrentValues() {
+        holdings(stock(), bond());
+        closes(1L, 100, 110, 99, 99);
+        closes(2L, 0, 50, 55, 50);
+
+        RiskReportDTO report = riskService.getRisk(QUERY);
+
+        // Daily P&L: 100, -100 + 50, 0 - 45.45; the worst day is the 99% historical VaR.
+        assertThat(report.getTotalValue()).isEqualByComparingTo("1500.00");
+        assertThat(report.getObservations()).isEqualTo(3);
+        assertThat(report.getHistoricalVar()).isEqualByComparingTo("50.00");
+        assertThat(report.getSeed()).isEqualTo(3L);
+        assertThat(report.getRiskContributionByType()).containsOnlyKeys(AssetType.STOCK, AssetType.BOND);
+        assertThat(report.getRiskContributionByType().values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isCloseTo(report.getExpectedShortfall(), within(new BigDecimal("0.02")));
+    }
+
+    @Test
+    void getPortfolioRisk_onlyCountsThatPortfolio() {
+        holdings(stock(), bond());
+        closes(2L, 0, 50, 55, 50);
+
+        RiskReportDTO report = riskService.getPortfolioRisk(2L, QUERY);
+
+        assertThat(report.getTotalValue()).isEqualByComparingTo("500.00");
+        assertThat(report.getObservations()).isEqualTo(2);
+        assertThat(report.getHistoricalVar()).isEqualByComparingTo("45.45");
+        assertThat(report.getRiskContributionByType()).containsOnlyKeys(AssetType.BOND);
+    }
+
+    @Test
+    void getRisk_fallsBackToTableWithoutAggregate() {
+        when(portfolioAggregate.snapshot()).thenReturn(Optional.empty());
+        when(assetRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000))).thenReturn(List.of(stock()));
+        closes(1L, 100, 110, 99, 99);
+
+        RiskReportDTO report = riskService.getRisk(QUERY);
+
+        assertThat(report.getTotalValue()).isEqualByComparingTo("1000.00");
+        assertThat(report.getHistoricalVar()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void getRisk_needsTwoDaysOfReturns() {
+        holdings(stock());
+        closes(1L, 0, 0, 100, 110);
+
+        assertThatThrownBy(() -> riskService.getRisk(QUERY))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not enough price history");
+    }
+
+    @Test
+    void getRisk_emptyBookHasNoRisk() {
+        holdings();
+
+        RiskReportDTO report = riskService.getRisk(QUERY);
+
+        assertThat(report.getMonteCarloVar()).isEqualByComparingTo("0");
+        assertThat(report.getRiskContributionByType()).isEmpty();
+    }
+
+    private void holdings(Asset... assets) {
+        HoldingsStore store = new HoldingsStore();
+        for (Asset asset : assets) {
+            store.upsert(asset);
+        }
+        when(portfolioAggregate.snapshot()).thenReturn(Optional.of(store.snapshot()));
+    }
+
+    private void closes(long assetId, long... cents) {
+        when(valuationHistory.getAssetDailyPrices(eq(assetId), anyLong(), eq(4))).thenReturn(cents);
+    }
+
+    private static Asset stock() {
+        return asset(1L, 1L, AssetType.STOCK, "100.00");
+    }
+
+    private static Asset bond() {
+        return asset(2L, 2L, AssetType.BOND, "50.00");
+    }
+
+    private static Asset asset(long id, long portfolioId, AssetType type, String price) {
+        return Asset.builder()
+                .id(id)
+                .portfolioId(portfolioId)
+                .symbol("S" + id)
+                .name("S" + id)
+                .assetType(type)
+                .quantity(new BigDecimal("10.0000"))
+                .avgBuyPrice(new BigDecimal("10.00"))
+                .currentPrice(new BigDecimal(price))
+                .build();
+    }
+}
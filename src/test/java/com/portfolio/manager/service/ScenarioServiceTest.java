@@ -0,0 +1,135 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import com.portfolio.manager.config.ScenarioProperties;
+import com.portfolio.manager.dto.ScenarioReportDTO;
+import com.portfolio.manager.dto.ScenarioRequestDTO;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.repository.AssetRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ScenarioServiceTest {
+
+    private static final ScenarioRequestDTO.Scenario CRASH = ScenarioRequestDTO.Scenario.builder()
+            .name("crash")
+            .typeShocks(Map.of(AssetType.CRYPTO, new BigDecimal("-40"), AssetType.BOND, new BigDecimal("5")))
+            .build();
+
+    @Mock
+    private PortfolioAggregate portfolioAggregate;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    private ScenarioService scenarioService;
+
+    @BeforeEach
+    void setUp() {
+        scenarioService = new ScenarioService(portfolioAggregate, assetRepository,
+                new PortfolioReducer(new ScenarioProperties()));
+    }
+
+    @Test
+    void runScenarios_shocksOneSnapshotPerScenario() {
+        HoldingsStore store = new HoldingsStore();
+        holdings().forEach(store::upsert);
+        when(portfolioAggregate.snapshot()).thenReturn(Optional.of(store.snapshot()));
+        ScenarioRequestDTO.Scenario symbolShock = ScenarioRequestDTO.Scenario.builder()
+                .typeShocks(Map.of(AssetType.STOCK, new BigDecimal("10")))
+                .symbolShocks(Map.of("AAPL", new BigDecimal("-50")))
+                .build();
+
+        ScenarioReportDTO report = scenarioService.runScenarios(ScenarioRequestDTO.builder()
+                .scenarios(List.of(CRASH, symbolShock))
+                .build());
+
+        assertThat(report.getTotalValue()).isEqualByComparingTo("3500.00");
+        ScenarioReportDTO.Result crash = report.getScenarios().get(0);
+        assertThat(crash.getName()).isEqualTo("crash");
+        assertThat(crash.getSummary().getTotalValue()).isEqualByComparingTo("3150.00");
+        assertThat(crash.getValueChange()).isEqualByComparingTo("-350.00");
+        assertThat(crash.getValueChangePercent()).isEqualByComparingTo("-10.00");
+        assertThat(crash.getSummary().getAllocationByType())
+                .containsEntry(AssetType.STOCK, new BigDecimal("47.62"))
+                .containsEntry(AssetType.CRYPTO, new BigDecimal("19.05"))
+                .containsEntry(AssetType.BOND, new BigDecimal("33.33"));
+        assertThat(crash.getSummary().getWorstPerformer().getSymbol()).isEqualTo("BTC");
+        assertThat(crash.getSummary().getWorstPerformer().getCurrentPrice()).isEqualByComparingTo("600.00");
+        assertThat(crash.getSummary().getWorstPerformer().getCurrentValue()).isEqualByComparingTo("600.00");
+        assertThat(crash.getSummary().getBestPerformer().getSymbol()).isEqualTo("AAPL");
+
+        ScenarioReportDTO.Result symbol = report.getScenarios().get(1);
+        assertThat(symbol.getName()).isEqualTo("Scenario 2");
+        assertThat(symbol.getSummary().getTotalValue()).isEqualByComparingTo("3050.00");
+        assertThat(store.currentPrice(store.slotOf(2L))).isEqualTo(100_000L);
+        verifyNoInteractions(assetRepository);
+    }
+
+    @Test
+    void runPortfolioScenarios_readsTheTableOnceWhileTheAggregateIsUnavailable() {
+        when(portfolioAggregate.snapshot()).thenReturn(Optional.empty());
+        when(assetRepository.findByPortfolioIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(1000)))
+                .thenReturn(holdings().subList(0, 3));
+
+        ScenarioReportDTO report = scenarioService.runPortfolioScenarios(1L, ScenarioRequestDTO.builder()
+                .scenarios(List.of(CRASH, CRASH, CRASH))
+                .build());
+
+        assertThat(report.getPortfolioId()).isEqualTo(1L);
+        assertThat(report.getScenarios()).hasSize(3)
+                .allSatisfy(result -> assertThat(result.getSummary().getTotalValue()).isEqualByComparingTo("2650.00"));
+    }
+
+    @Test
+    void runScenarios_roundsShockedPricesHalfUp() {
+        HoldingsStore store = new HoldingsStore();
+        store.upsert(asset(1L, 1L, "PENNY", AssetType.STOCK, "1.0000", "0.05", "0.05"));
+        when(portfolioAggregate.snapshot()).thenReturn(Optional.of(store.snapshot()));
+
+        ScenarioReportDTO report = scenarioService.runScenarios(ScenarioRequestDTO.builder()
+                .scenarios(List.of(ScenarioRequestDTO.Scenario.builder()
+                        .symbolShocks(Map.of(" PENNY ", new BigDecimal("-50")))
+                        .build()))
+                .build());
+
+        assertThat(report.getScenarios().get(0).getSummary().getTotalValue()).isEqualByComparingTo("0.03");
+    }
+
+    private static List<Asset> holdings() {
+        return List.of(
+                asset(1L, 1L, "AAPL", AssetType.STOCK, "10.0000", "50.00", "100.00"),
+                asset(2L, 1L, "BTC", AssetType.CRYPTO, "1.0000", "2000.00", "1000.00"),
+                asset(3L, 1L, "BND", AssetType.BOND, "10.0000", "100.00", "100.00"),
+                asset(4L, 2L, "MSFT", AssetType.STOCK, "1.0000", "500.00", "500.00"));
+    }
+
+    private static Asset asset(long id, long portfolioId, String symbol, AssetType type, String quantity,
+                               String avgBuyPrice, String currentPrice) {
+        return Asset.builder()
+                .id(id)
+                .portfolioId(portfolioId)
+                .symbol(symbol)
+                .name(symbol)
+                .assetType(type)
+                .quantity(new BigDecimal(quantity))
+                .avgBuyPrice(new BigDecimal(avgBuyPrice))
+                .currentPrice(new BigDecimal(currentPrice))
+                .build();
+    }
+}
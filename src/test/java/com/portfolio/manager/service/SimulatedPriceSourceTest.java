@@ -0,0 +1,33 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.portfolio.manager.config.PriceRefreshProperties;
+
+class SimulatedPriceSourceTest {
+
+    @Test
+    void fetchQuotes_walkStartsFromTheStoredPrice() {
+        PriceRefreshProperties properties = new PriceRefreshProperties();
+        properties.getSimulated().setVolatility(0);
+        SimulatedPriceSource source = new SimulatedPriceSource(properties);
+        Map<String, BigDecimal> stored = new HashMap<>();
+        stored.put("AAPL", new BigDecimal("187.25"));
+        stored.put("NEW", null);
+
+        Map<String, BigDecimal> first = source.fetchQuotes(stored);
+
+        assertThat(first.get("AAPL")).isEqualByComparingTo("187.25");
+        assertThat(first.get("NEW")).isPositive();
+        assertThat(source.fetchQuotes(List.of("AAPL")).get("AAPL")).isEqualByComparingTo("187.25");
+        assertThat(source.fetchQuotes(Map.of("AAPL", new BigDecimal("1.00"))).get("AAPL"))
+                .isEqualByComparingTo("187.25");
+    }
+}
@@ -0,0 +1,108 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.portfolio.manager.model.HistoryResolution;
+import com.portfolio.manager.service.TimeSeriesStore.Point;
+
+class TimeSeriesStoreTest {
+
+    private static final long DAY = HistoryResolution.DAY.bucketSeconds();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_returnsAppendedPointsAcrossSegments() {
+        TimeSeriesStore store = new TimeSeriesStore(directory);
+        long segmentEnd = HistoryResolution.RAW.segmentSeconds();
+        store.append("portfolio-1", HistoryResolution.RAW, segmentEnd - 60, 100_000L);
+        store.append("portfolio-1", HistoryResolution.RAW, segmentEnd - 30, 99_500L);
+        store.append("portfolio-1", HistoryResolution.RAW, segmentEnd + 30, -250L);
+
+        assertThat(store.read("portfolio-1", HistoryResolution.RAW, 0, segmentEnd * 2, 10)).containsExactly(
+                new Point(segmentEnd - 60, 100_000L),
+                new Point(segmentEnd - 30, 99_500L),
+                new Point(segmentEnd + 30, -250L));
+        assertThat(store.read("portfolio-1", HistoryResolution.RAW, segmentEnd - 30, segmentEnd, 10))
+                .containsExactly(new Point(segmentEnd - 30, 99_500L));
+        assertThat(store.latest("portfolio-1")).isEqualTo(new Point(segmentEnd + 30, -250L));
+    }
+
+    @Test
+    void append_ignoresPointsThatAreNotNewer() {
+        TimeSeriesStore store = new TimeSeriesStore(directory);
+        store.append("asset-7", HistoryResolution.DAY, 10 * DAY, 1L);
+        store.append("asset-7", HistoryResolution.DAY, 10 * DAY, 2L);
+
+        assertThat(store.read("asset-7", HistoryResolution.DAY, 0, 20 * DAY, 10))
+                .containsExactly(new Point(10 * DAY, 1L));
+    }
+
+    @Test
+    void append_encodesRegularSamplesCompactly() throws Exception {
+        TimeSeriesStore store = new TimeSeriesStore(directory);
+        for (int day = 0; day < 365; day++) {
+            store.append("portfolio-1", HistoryResolution.DAY, day * DAY, 1_000_000_00L + day * 1_500L);
+        }
+
+        List<Point> points = store.read("portfolio-1", HistoryResolution.DAY, 0, 365 * DAY, 1000);
+        assertThat(points).hasSize(365);
+        assertThat(points.get(364)).isEqualTo(new Point(364 * DAY, 1_000_000_00L + 364 * 1_500L));
+        try (var segments = Files.list(directory.resolve("portfolio-1"))) {
+            assertThat(segments.mapToLong(path -> path.toFile().length()).sum()).isLessThan(365 * 8L);
+        }
+    }
+
+    @Test
+    void deleteBefore_keepsNewestRawSegment() {
+        TimeSeriesStore store = new TimeSeriesStore(directory);
+        long segment = HistoryResolution.RAW.segmentSeconds();
+        store.append("asset-1", HistoryResolution.RAW, 10, 1L);
+        store.append("asset-2", HistoryResolution.RAW, 10, 1L);
+        store.append("asset-2", HistoryResolution.RAW, segment + 10, 2L);
+
+        assertThat(store.deleteBefore(HistoryResolution.RAW, 10 * segment)).isEqualTo(1);
+        assertThat(store.latest("asset-1")).isEqualTo(new Point(10, 1L));
+        assertThat(store.read("asset-2", HistoryResolution.RAW, 0, 2 * segment, 10))
+                .containsExactly(new Point(segment + 10, 2L));
+    }
+
+    @Test
+    void append_reopensEvictedAndClosedSegments() {
+        TimeSeriesStore store = new TimeSeriesStore(directory, 1);
+        for (int minute = 0; minute < 3; minute++) {
+            store.append("asset-1", HistoryResolution.RAW, minute * 60L, minute);
+            store.append("asset-2", HistoryResolution.RAW, minute * 60L, -minute);
+        }
+        store.close();
+        store.append("asset-1", HistoryResolution.RAW, 180, 3L);
+
+        assertThat(store.read("asset-1", HistoryResolution.RAW, 0, 180, 10)).containsExactly(
+                new Point(0, 0L), new Point(60, 1L), new Point(120, 2L), new Point(180, 3L));
+        assertThat(store.read("asset-2", HistoryResolution.RAW, 0, 180, 10)).containsExactly(
+                new Point(0, 0L), new Point(60, -1L), new Point(120, -2L));
+        store.close();
+    }
+
+    @Test
+    void deleteBefore_closesDeletedOpenSegment() {
+        TimeSeriesStore store = new TimeSeriesStore(directory);
+        store.append("asset-1", HistoryResolution.DAY, DAY, 1L);
+
+        assertThat(store.deleteBefore(HistoryResolution.DAY, 10 * HistoryResolution.DAY.segmentSeconds()))
+                .isEqualTo(1);
+        store.append("asset-1", HistoryResolution.DAY, 2 * DAY, 2L);
+
+        assertThat(store.read("asset-1", HistoryResolution.DAY, 0, 3 * DAY, 10))
+                .containsExactly(new Point(2 * DAY, 2L));
+        store.close();
+    }
+}
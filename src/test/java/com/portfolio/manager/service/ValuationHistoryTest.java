@@ -0,0 +1,146 @@
+package com.portfolio.manager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.portfolio.manager.config.HistoryProperties;
+import com.portfolio.manager.dto.ValuationHistoryDTO;
+import com.portfolio.manager.event.AssetChangedEvent;
+import com.portfolio.manager.model.Asset;
+import com.portfolio.manager.model.AssetType;
+import com.portfolio.manager.model.HistoryResolution;
+
+class ValuationHistoryTest {
+
+    private static final Instant DAY_ONE = Instant.parse("2026-03-02T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private HistoryProperties properties;
+    private HoldingsStore holdings;
+    private ValuationHistory valuationHistory;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HistoryProperties();
+        holdings = new HoldingsStore();
+        valuationHistory = new ValuationHistory(null, properties, new TimeSeriesStore(directory));
+    }
+
+    @Test
+    void record_rollsUpLastValuePerBucket() {
+        sample(DAY_ONE.plusSeconds(3600), "100.00", "50.00");
+        sample(DAY_ONE.plusSeconds(7200), "110.00", "50.00");
+        sample(DAY_ONE.plusSeconds(86_400 + 60), "120.00", "50.00");
+
+        ValuationHistoryDTO days = valuationHistory.getPortfolioHistory(1L, HistoryResolution.DAY,
+                DAY_ONE.plusSeconds(30), DAY_ONE.plusSeconds(3 * 86_400));
+
+        assertThat(days.getPoints()).extracting(ValuationHistoryDTO.Point::getTimestamp)
+                .containsExactly(DAY_ONE, DAY_ONE.plusSeconds(86_400));
+        assertThat(days.getPoints()).extracting(ValuationHistoryDTO.Point::getValue)
+                .containsExactly(new BigDecimal("1600.00"), new BigDecimal("1700.00"));
+        assertThat(valuationHistory.getAssetHistory(2L, HistoryResolution.HOUR, DAY_ONE, DAY_ONE.plusSeconds(86_400))
+                .getPoints()).hasSize(3);
+    }
+
+    @Test
+    void openBucketSurvivesRestart() {
+        sample(DAY_ONE.plusSeconds(3600), "100.00", "50.00");
+
+        ValuationHistory restarted = new ValuationHistory(null, properties, new TimeSeriesStore(directory));
+        holdings = new HoldingsStore();
+        upsert(1L, "105.00");
+        upsert(2L, "50.00");
+        restarted.record(holdings.snapshot(), DAY_ONE.plusSeconds(86_400).getEpochSecond());
+
+        assertThat(restarted.getPortfolioHistory(1L, HistoryResolution.DAY, DAY_ONE, DAY_ONE.plusSeconds(86_400))
+                .getPoints()).extracting(ValuationHistoryDTO.Point::getValue)
+                .containsExactly(new BigDecimal("1500.00"), new BigDecimal("1550.00"));
+    }
+
+    @Test
+    void onAssetChanged_closesDeletedAssetSeries() {
+        sample(DAY_ONE.plusSeconds(3600), "100.00", "50.00");
+
+        valuationHistory.onAssetChanged(AssetChangedEvent.deleted(1L, 1L, AssetType.STOCK));
+
+        assertThat(new ValuationHistory(null, properties, new TimeSeriesStore(directory))
+                .getAssetHistory(1L, HistoryResolution.MINUTE, DAY_ONE, DAY_ONE.plusSeconds(86_400))
+                .getPoints()).extracting(ValuationHistoryDTO.Point::getTimestamp)
+                .containsExactly(DAY_ONE.plusSeconds(3600));
+    }
+
+    @Test
+    void getAssetDailyPrices_alignsClosesToDays() {
+        sample(DAY_ONE.plusSeconds(3600), "100.00", "50.00");
+        sample(DAY_ONE.plusSeconds(7200), "101.00", "50.00");
+        sample(DAY_ONE.plusSeconds(2 * 86_400 + 60), "120.00", "50.00");
+
+        assertThat(valuationHistory.getAssetDailyPrices(1L, DAY_ONE.getEpochSecond(), 4))
+                .containsExactly(10_100L, 0L, 12_000L, 0L);
+    }
+
+    @Test
+    void getAssetDailyPrices_ignoresQuantityChanges() {
+        sample(DAY_ONE.plusSeconds(3600), "100.00", "50.00");
+        upsert(1L, "40.0000", "100.00");
+        valuationHistory.record(holdings.snapshot(), DAY_ONE.plusSeconds(86_400 + 60).getEpochSecond());
+
+        assertThat(valuationHistory.getAssetDailyPrices(1L, DAY_ONE.getEpochSecond(), 2))
+                .containsExactly(10_000L, 10_000L);
+    }
+
+    @Test
+    void shutdown_closesOpenPriceDays() {
+        sample(DAY_ONE.plusSeconds(3600), "100.00", "50.00");
+
+        valuationHistory.shutdown();
+
+        assertThat(new ValuationHistory(null, properties, new TimeSeriesStore(directory))
+                .getAssetDailyPrices(2L, DAY_ONE.getEpochSecond(), 1)).containsExactly(5_000L);
+    }
+
+    @Test
+    void query_rejectsRangesAboveMaxPoints() {
+        properties.setMaxPoints(1);
+        sample(DAY_ONE, "100.00", "50.00");
+        sample(DAY_ONE.plusSeconds(60), "101.00", "50.00");
+
+        assertThatThrownBy(() -> valuationHistory.getPortfolioHistory(1L, HistoryResolution.RAW, DAY_ONE,
+                DAY_ONE.plusSeconds(3600)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void sample(Instant at, String firstPrice, String secondPrice) {
+        upsert(1L, firstPrice);
+        upsert(2L, secondPrice);
+        valuationHistory.record(holdings.snapshot(), at.getEpochSecond());
+    }
+
+    private void upsert(long id, String price) {
+        upsert(id, "10.0000", price);
+    }
+
+    private void upsert(long id, String quantity, String price) {
+        holdings.upsert(Asset.builder()
+                .id(id)
+                .portfolioId(1L)
+                .symbol("S" + id)
+                .name("S" + id)
+                .assetType(AssetType.STOCK)
+                .quantity(new BigDecimal(quantity))
+                .avgBuyPrice(new BigDecimal("10.00"))
+                .currentPrice(new BigDecimal(price))
+                .build());
+    }
+}